@@ -3,15 +3,25 @@
  */
 package com.mattwhitlock.common.caches;
 
+import java.lang.ref.Reference;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A key-value cache that supports mappings whose values may be spontaneously erased. Such erased mappings are
@@ -66,6 +76,77 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 
 		}
 
+		/**
+		 * A probe whose key is set for each search, so that a thread can search a backing map that cannot be searched
+		 * directly by key without constructing a new probe each time. Each thread has its own, which
+		 * {@link #acquire(Object)} lends out until it is {@linkplain #release() released}. A map may not retain a
+		 * reusable probe, so one may be passed only to methods that search for or remove a mapping.
+		 */
+		static final class ReusableProbe implements Entry<Object, Object> {
+
+			private static final ThreadLocal<ReusableProbe> probes = ThreadLocal.withInitial(ReusableProbe::new);
+
+			Object key;
+
+			boolean inUse;
+
+			private ReusableProbe() {
+			}
+
+			/**
+			 * Returns the current thread's probe, set to the given key, or a new probe if the thread's probe is in use,
+			 * as it is when a key's {@code equals} method searches the same cache.
+			 */
+			static ReusableProbe acquire(Object key) {
+				ReusableProbe probe = probes.get();
+				if (probe.inUse) {
+					probe = new ReusableProbe();
+				}
+				probe.key = key;
+				probe.inUse = true;
+				return probe;
+			}
+
+			/**
+			 * Returns this probe to its thread, dropping its reference to its key.
+			 */
+			void release() {
+				key = null;
+				inUse = false;
+			}
+
+			@Override
+			public Object getKey() {
+				return key;
+			}
+
+			@Override
+			public Object getValue() {
+				return null;
+			}
+
+			@Override
+			public void removedFrom(AbstractCache<Object, Object, ?> cache) {
+				throw new InternalError();
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				return Entry.equals(this, obj);
+			}
+
+			@Override
+			public int hashCode() {
+				return Entry.hashCode(this);
+			}
+
+			@Override
+			public String toString() {
+				return Objects.toString(key);
+			}
+
+		}
+
 		/**
 		 * Returns the key with which this entry was created.
 		 */
@@ -131,7 +212,12 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 
 		@Override
 		public Iterator<K> iterator() {
-			return new KeyIterator(map.keySet().iterator());
+			return new KeyIterator(map.values().iterator());
+		}
+
+		@Override
+		public Spliterator<K> spliterator() {
+			return new KeySpliterator(map.values().spliterator());
 		}
 
 	}
@@ -153,7 +239,12 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 
 		@Override
 		public Iterator<V> iterator() {
-			return new ValueIterator(map.keySet().iterator());
+			return new ValueIterator(map.values().iterator());
+		}
+
+		@Override
+		public Spliterator<V> spliterator() {
+			return new ValueSpliterator(map.values().spliterator());
 		}
 
 	}
@@ -179,13 +270,18 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 				return false;
 			}
 			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
-			E entry = map.get(new Entry.Probe<>(e.getKey()));
+			E entry = getEntry(e.getKey());
 			return entry != null && Objects.equals(e.getValue(), entry.getValue());
 		}
 
 		@Override
 		public Iterator<Map.Entry<K, V>> iterator() {
-			return new EntryIterator(map.keySet().iterator());
+			return new EntryIterator(map.values().iterator());
+		}
+
+		@Override
+		public Spliterator<Map.Entry<K, V>> spliterator() {
+			return new EntrySpliterator(map.values().spliterator());
 		}
 
 		@Override
@@ -221,8 +317,10 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 
 		@Override
 		public void remove() {
-			delegate.remove();
-			removed(lastEntry);
+			if (lastEntry == null) {
+				throw new IllegalStateException();
+			}
+			expunge(delegate, lastEntry, RemovalCause.EXPLICIT);
 			lastEntry = null;
 		}
 
@@ -250,8 +348,7 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 					if ((nextValue = (nextEntry = delegate.next()).getValue()) != null) {
 						break;
 					}
-					delegate.remove();
-					removed(nextEntry);
+					expunge(delegate, nextEntry, cullCause(nextEntry));
 				}
 			}
 			return true;
@@ -261,8 +358,7 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 			if (lastEntry == null) {
 				throw new IllegalStateException();
 			}
-			delegate.remove();
-			removed(lastEntry);
+			expunge(delegate, lastEntry, RemovalCause.EXPLICIT);
 			lastEntry = null;
 		}
 
@@ -308,8 +404,228 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 
 	}
 
+	protected class EntryCursor implements Cursor<K, V> {
+
+		final Iterator<E> delegate;
+
+		E entry;
+		V value;
+
+		EntryCursor(Iterator<E> delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean advance() {
+			while (delegate.hasNext()) {
+				E entry = delegate.next();
+				V value = entry.getValue();
+				if (value != null) {
+					this.entry = entry;
+					this.value = value;
+					return true;
+				}
+				expunge(delegate, entry, cullCause(entry));
+			}
+			entry = null;
+			value = null;
+			return false;
+		}
+
+		final E entry() {
+			if (entry == null) {
+				throw new IllegalStateException();
+			}
+			return entry;
+		}
+
+		@Override
+		public K key() {
+			return entry().getKey();
+		}
+
+		@Override
+		public V value() {
+			entry();
+			return value;
+		}
+
+		@Override
+		public void remove() {
+			expunge(delegate, entry(), RemovalCause.EXPLICIT);
+			entry = null;
+			value = null;
+		}
+
+	}
+
+	/**
+	 * Adapts a {@link Spliterator} over the entries of the backing map, so that the views of this cache split exactly as
+	 * well as the backing map does. Unlike the iterators, these spliterators may be traversed by several threads at once,
+	 * so they merely skip entries whose values have been cleared rather than expunging them.
+	 */
+	private abstract class AbstractEntrySpliterator<T> implements Spliterator<T> {
+
+		static final int BATCH_UNIT = 1 << 10, MAX_BATCH = 1 << 25;
+
+		final Spliterator<E> delegate;
+
+		boolean emitted;
+
+		int batch;
+
+		AbstractEntrySpliterator(Spliterator<E> delegate) {
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Passes the element corresponding to the given entry to the given action, or returns {@code false} if the entry
+		 * has no corresponding element.
+		 */
+		abstract boolean emit(E entry, Consumer<? super T> action);
+
+		abstract Spliterator<T> newSpliterator(Spliterator<E> delegate);
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			while (delegate.tryAdvance(entry -> emitted = emit(entry, action))) {
+				if (emitted) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			delegate.forEachRemaining(entry -> emit(entry, action));
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			Spliterator<E> prefix = delegate.trySplit();
+			if (prefix != null) {
+				return newSpliterator(prefix);
+			}
+			// The backing map's spliterator cannot split (ConcurrentSkipListMap's may not), so hand off a batch of
+			// elements, as the default spliterator of an iterator would.
+			if (delegate.estimateSize() <= 1) {
+				return null;
+			}
+			ArrayList<T> elements = new ArrayList<>(batch = Math.min(batch + BATCH_UNIT, MAX_BATCH));
+			while (elements.size() < batch && tryAdvance(elements::add)) {
+			}
+			return elements.isEmpty() ? null : Spliterators.spliterator(elements.toArray(), characteristics() & (ORDERED | DISTINCT | NONNULL));
+		}
+
+		@Override
+		public long estimateSize() {
+			return delegate.estimateSize();
+		}
+
+	}
+
+	private class KeySpliterator extends AbstractEntrySpliterator<K> {
+
+		KeySpliterator(Spliterator<E> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		boolean emit(E entry, Consumer<? super K> action) {
+			action.accept(entry.getKey());
+			return true;
+		}
+
+		@Override
+		Spliterator<K> newSpliterator(Spliterator<E> delegate) {
+			return new KeySpliterator(delegate);
+		}
+
+		/**
+		 * Like {@link KeyIterator}, this spliterator does not skip the keys of cleared entries, so it is exactly sized
+		 * whenever the backing map's spliterator is.
+		 */
+		@Override
+		public int characteristics() {
+			return delegate.characteristics() & (ORDERED | SIZED | SUBSIZED | CONCURRENT) | DISTINCT;
+		}
+
+	}
+
+	private class ValueSpliterator extends AbstractEntrySpliterator<V> {
+
+		ValueSpliterator(Spliterator<E> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		boolean emit(E entry, Consumer<? super V> action) {
+			V value = entry.getValue();
+			if (value == null) {
+				return false;
+			}
+			action.accept(value);
+			return true;
+		}
+
+		@Override
+		Spliterator<V> newSpliterator(Spliterator<E> delegate) {
+			return new ValueSpliterator(delegate);
+		}
+
+		@Override
+		public int characteristics() {
+			return delegate.characteristics() & (ORDERED | CONCURRENT) | NONNULL;
+		}
+
+	}
+
+	private class EntrySpliterator extends AbstractEntrySpliterator<Map.Entry<K, V>> {
+
+		EntrySpliterator(Spliterator<E> delegate) {
+			super(delegate);
+		}
+
+		@Override
+		boolean emit(E entry, Consumer<? super Map.Entry<K, V>> action) {
+			V value = entry.getValue();
+			if (value == null) {
+				return false;
+			}
+			action.accept(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value));
+			return true;
+		}
+
+		@Override
+		Spliterator<Map.Entry<K, V>> newSpliterator(Spliterator<E> delegate) {
+			return new EntrySpliterator(delegate);
+		}
+
+		@Override
+		public int characteristics() {
+			return delegate.characteristics() & (ORDERED | CONCURRENT) | DISTINCT | NONNULL;
+		}
+
+	}
+
+	/**
+	 * The backing map. Each value in this map is the live {@link Entry} for its key. The corresponding key in this map
+	 * is an {@link Entry} with an equal key but is not necessarily the same instance, as some maps retain the original
+	 * key object when a mapping is replaced.
+	 */
 	protected final Map<E, E> map;
 
+	/**
+	 * The statistics of this cache, or {@code null} if statistics are not being recorded.
+	 */
+	volatile StatsCounter stats;
+
+	/**
+	 * The notifier of this cache's removal listener, or {@code null} if this cache has no removal listener.
+	 */
+	volatile RemovalNotifier<K, V> notifier;
+
 	/**
 	 * Constructs an {@link AbstractCache} using the given backing {@link Map}.
 	 */
@@ -334,7 +650,7 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 
 	@Override
 	public boolean containsKey(Object key) {
-		return map.containsKey(new Entry.Probe<>(key));
+		return getEntry(key) != null;
 	}
 
 	@Override
@@ -342,45 +658,174 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 		return values().contains(value);
 	}
 
+	/**
+	 * Culls mappings that are no longer valid. This method is called at the start of each lookup and once at the start
+	 * of each bulk operation. This implementation does nothing.
+	 */
+	protected void processQueue() {
+	}
+
 	@Override
 	public V get(Object key) {
-		E entry = map.get(new Entry.Probe<>(key));
-		return entry == null ? null : entry.getValue();
+		processQueue();
+		return lookup(key);
+	}
+
+	/**
+	 * Returns the value to which the given key is mapped, as {@link #get(Object)} does, except without first calling
+	 * {@link #processQueue()}.
+	 */
+	protected V lookup(Object key) {
+		E entry = getEntry(key);
+		return recordLookup(entry == null ? null : entry.getValue());
+	}
+
+	/**
+	 * Looks up each of the given keys, putting each key and the value to which it is mapped into the given map, and
+	 * returns the keys that are not mapped to values, in the order in which they were given. Erased mappings are culled
+	 * once for the whole batch rather than once per key.
+	 */
+	public List<K> getAll(Iterable<? extends K> keys, Map<? super K, ? super V> found) {
+		processQueue();
+		List<K> misses = new ArrayList<>();
+		for (K key : keys) {
+			V value = lookup(key);
+			if (value == null) {
+				misses.add(key);
+			}
+			else {
+				found.put(key, value);
+			}
+		}
+		return misses;
+	}
+
+	/**
+	 * Returns the values to which the given keys are mapped, loading the values of all of the keys that are not mapped
+	 * with a single call of the given loader. The loader is passed the keys that are not mapped and returns a map of
+	 * those keys to their values, from which the values are put into this cache. The returned map contains the mappings
+	 * of the given keys that were found or loaded.
+	 * <p>
+	 * This implementation does not coordinate concurrent loads of the same keys.
+	 */
+	public Map<K, V> getAll(Iterable<? extends K> keys, Function<? super List<K>, ? extends Map<? extends K, ? extends V>> loader) {
+		Map<K, V> found = new HashMap<>();
+		List<K> misses = getAll(keys, found);
+		if (!misses.isEmpty()) {
+			Object event = CacheEvents.beginLoad();
+			Map<? extends K, ? extends V> loaded;
+			try {
+				loaded = loader.apply(misses);
+			}
+			catch (RuntimeException | Error e) {
+				CacheEvents.endLoad(event, this, false);
+				throw e;
+			}
+			CacheEvents.endLoad(event, this, !loaded.isEmpty());
+			for (K key : misses) {
+				V value = loaded.get(key);
+				if (value != null) {
+					put(key, value);
+					found.put(key, value);
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Returns the value to which the given key is mapped, or if there is no such value, computes a value using the
+	 * given loader, puts it into this cache, and returns it. The loaded value is returned as it was computed, so it is
+	 * returned even if it is erased from this cache before this method returns. If the loader returns {@code null},
+	 * then no mapping is put, and {@code null} is returned.
+	 * <p>
+	 * This implementation does not coordinate concurrent loads of the same key. Thread-safe subclasses may override it
+	 * to do so.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if (value == null) {
+			Object event = CacheEvents.beginLoad();
+			try {
+				value = loader.apply(key);
+			}
+			catch (RuntimeException | Error e) {
+				CacheEvents.endLoad(event, this, false);
+				throw e;
+			}
+			CacheEvents.endLoad(event, this, value != null);
+			if (value != null) {
+				put(key, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Equivalent to {@link #get(Object, Function) get(key, mappingFunction)}.
+	 */
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		return get(key, mappingFunction);
 	}
 
 	@Override
 	public V put(K key, V value) {
 		Objects.requireNonNull(value);
 		E entry = newEntry(key, value), replaced = map.put(entry, entry);
+		recordPut();
 		if (replaced == null) {
 			return null;
 		}
-		removed(replaced);
-		return replaced.getValue();
+		V replacedValue = replaced.getValue();
+		removed(replaced, RemovalCause.REPLACED);
+		return replacedValue;
 	}
 
 	@Override
 	public V remove(Object key) {
-		E removed = map.remove(new Entry.Probe<>(key));
+		E removed = removeEntry(key);
 		if (removed == null) {
 			return null;
 		}
-		removed(removed);
-		return removed.getValue();
+		V removedValue = removed.getValue();
+		removed(removed, RemovalCause.EXPLICIT);
+		return removedValue;
 	}
 
+	/**
+	 * Puts all of the mappings of the given map into this cache. Erased mappings are culled once for the whole batch.
+	 */
 	@Override
 	public void putAll(Map<? extends K, ? extends V> m) {
+		processQueue();
 		m.forEach(this::put);
 	}
 
+	/**
+	 * Removes the mappings of all of the given keys and returns the number of mappings that were removed. Erased
+	 * mappings are culled once for the whole batch.
+	 */
+	public int removeAll(Iterable<?> keys) {
+		processQueue();
+		int count = 0;
+		for (Object key : keys) {
+			E removed = removeEntry(key);
+			if (removed != null) {
+				removed(removed, RemovalCause.EXPLICIT);
+				++count;
+			}
+		}
+		return count;
+	}
+
 	@Override
 	public void clear() {
 		@SuppressWarnings("unchecked")
 		E[] cleared = (E[]) map.values().toArray(new Entry<?, ?>[map.size()]);
 		map.clear();
 		for (E removed : cleared) {
-			removed(removed);
+			removed(removed, RemovalCause.EXPLICIT);
 		}
 	}
 
@@ -400,10 +845,247 @@ public abstract class AbstractCache<K, V, E extends AbstractCache.Entry<K, V>> i
 	}
 
 	/**
-	 * Notifies the given {@link Entry} that it has been removed from this cache.
+	 * Returns a {@link Cursor} over the live mappings of this cache, which visits the same mappings in the same order as
+	 * an iterator over {@link #entrySet()} but without allocating an entry for each mapping.
+	 */
+	public Cursor<K, V> cursor() {
+		return new EntryCursor(map.values().iterator());
+	}
+
+	/**
+	 * Returns the keys of at most {@code limit} live mappings of this cache, the most valuable mappings first, as far as
+	 * this cache's eviction policy can tell. This implementation returns the keys in the same order as
+	 * {@link #cursor()}.
+	 *
+	 * @see CacheSnapshot#write(AbstractCache, java.nio.file.Path, int, Codec, Codec)
+	 */
+	public List<K> hottestKeys(int limit) {
+		List<K> keys = new ArrayList<>(Math.min(limit, map.size()));
+		for (Cursor<K, V> cursor = cursor(); keys.size() < limit && cursor.advance();) {
+			keys.add(cursor.key());
+		}
+		return keys;
+	}
+
+	/**
+	 * Performs the given action for each live mapping in this cache, without allocating an entry for each mapping.
+	 * Mappings whose values have been cleared are culled along the way.
+	 */
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		Objects.requireNonNull(action);
+		forEachEntry((entry, value) -> action.accept(entry.getKey(), value));
+	}
+
+	/**
+	 * Passes each live {@link Entry} of this cache and its value to the given action, culling mappings whose values have
+	 * been cleared along the way. The typed {@code forEach} methods of this class and its subclasses extract their keys
+	 * from the entries passed here.
+	 */
+	final void forEachEntry(BiConsumer<? super E, ? super V> action) {
+		for (Iterator<E> it = map.values().iterator(); it.hasNext();) {
+			E entry = it.next();
+			V value = entry.getValue();
+			if (value == null) {
+				expunge(it, entry, cullCause(entry));
+			}
+			else {
+				action.accept(entry, value);
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Entry} mapped for the given key, or {@code null} if there is no such entry. The default
+	 * implementation searches the backing map using a probe entry. Subclasses whose backing maps can be searched
+	 * directly by key should override this method to avoid constructing the probe.
+	 */
+	protected E getEntry(Object key) {
+		return map.get(newProbe(key));
+	}
+
+	/**
+	 * Removes and returns the {@link Entry} mapped for the given key, or returns {@code null} if there is no such entry.
+	 * This method does not notify the removed entry of its removal.
+	 * 
+	 * @see #getEntry(Object)
+	 */
+	protected E removeEntry(Object key) {
+		return map.remove(newProbe(key));
+	}
+
+	/**
+	 * Returns the {@link Entry} mapped for the given key, or {@code null} if there is no such entry, searching the backing
+	 * map using the current thread's {@link Entry.ReusableProbe}. Subclasses whose backing maps can be searched only by
+	 * probe, and which do not override {@link #newProbe(Object)}, may implement {@link #getEntry(Object)} by calling this
+	 * method to avoid constructing a probe for each search.
+	 */
+	protected final E getEntryByReusableProbe(Object key) {
+		Entry.ReusableProbe probe = Entry.ReusableProbe.acquire(key);
+		try {
+			return map.get(probe);
+		}
+		finally {
+			probe.release();
+		}
+	}
+
+	/**
+	 * Removes and returns the {@link Entry} mapped for the given key, or returns {@code null} if there is no such entry,
+	 * searching the backing map using the current thread's {@link Entry.ReusableProbe}.
+	 * 
+	 * @see #getEntryByReusableProbe(Object)
+	 */
+	protected final E removeEntryByReusableProbe(Object key) {
+		Entry.ReusableProbe probe = Entry.ReusableProbe.acquire(key);
+		try {
+			return map.remove(probe);
+		}
+		finally {
+			probe.release();
+		}
+	}
+
+	/**
+	 * Constructs and returns an {@link Entry} having the given key and no value, for searching the backing map.
+	 */
+	protected AbstractCache.Entry<?, ?> newProbe(Object key) {
+		return new Entry.Probe<>(key);
+	}
+
+	/**
+	 * Removes the given {@link Entry} from this cache if it is still the entry that is mapped for its key, and if so,
+	 * notifies it of its removal for the given cause. Returns {@code true} if the entry was removed.
+	 */
+	protected boolean expunge(E entry, RemovalCause cause) {
+		if (map.get(entry) != entry) {
+			return false;
+		}
+		map.remove(entry);
+		removed(entry, cause);
+		return true;
+	}
+
+	/**
+	 * Removes the given {@link Entry}, which is the entry most recently returned by the given iterator over the values
+	 * of the backing map, and notifies it of its removal for the given cause. This implementation removes the entry
+	 * through the iterator. Thread-safe subclasses override this method to remove the entry only if it is still the
+	 * entry that is mapped for its key, as {@link #expunge(Entry, RemovalCause)} does.
+	 */
+	protected void expunge(Iterator<E> it, E entry, RemovalCause cause) {
+		it.remove();
+		removed(entry, cause);
+	}
+
+	/**
+	 * Returns the cause for which the given {@link Entry}, whose {@link Entry#getValue() getValue()} has returned
+	 * {@code null}, is culled from this cache. This implementation returns {@link RemovalCause#COLLECTED}. Subclasses
+	 * whose entries may report no value for other reasons should override this method to report those reasons.
+	 */
+	protected RemovalCause cullCause(E entry) {
+		return RemovalCause.COLLECTED;
+	}
+
+	/**
+	 * Culls the given erased entries from this cache on behalf of a {@link ReferenceReaper}.
 	 */
-	protected void removed(AbstractCache.Entry<K, V> entry) {
+	@SuppressWarnings("unchecked")
+	void reap(Reference<?>[] refs, int from, int to) {
+		Object event = CacheEvents.beginReap();
+		for (int i = from; i < to; ++i) {
+			expunge((E) refs[i], RemovalCause.COLLECTED);
+		}
+		CacheEvents.endReap(event, this, to - from);
+	}
+
+	/**
+	 * Notifies the given {@link Entry} that it has been removed from this cache for the given cause, and submits a
+	 * notification to this cache's removal listener, if it has one.
+	 */
+	protected void removed(AbstractCache.Entry<K, V> entry, RemovalCause cause) {
+		StatsCounter stats = statsCounter();
+		if (stats != null) {
+			stats.recordRemoval(cause);
+		}
+		CacheEvents.removed(this, cause);
+		RemovalNotifier<K, V> notifier = this.notifier;
+		if (notifier != null) {
+			notifier.notify(entry.getKey(), removedValue(entry), cause);
+		}
 		entry.removedFrom(this);
 	}
 
+	/**
+	 * Returns the value of the given entry, which is being removed, for reporting to this cache's removal listener.
+	 * This implementation returns {@link Entry#getValue()}.
+	 */
+	protected V removedValue(AbstractCache.Entry<K, V> entry) {
+		return entry.getValue();
+	}
+
+	/**
+	 * Sets the listener that is notified of mappings removed from this cache, replacing any listener that was set
+	 * before, or removes the listener if the given listener is {@code null}. Notifications are submitted to the given
+	 * {@link Executor} as mappings are removed, so a listener may take as long as it needs, such as to close resources
+	 * held by removed values, without delaying the thread that removed the mappings. A listener may access this cache
+	 * as any other thread may.
+	 */
+	public void setRemovalListener(RemovalListener<? super K, ? super V> listener, Executor executor) {
+		notifier = listener == null ? null : new RemovalNotifier<>(listener, Objects.requireNonNull(executor));
+	}
+
+	/**
+	 * Begins recording statistics of this cache's activity, if they are not already being recorded. Statistics are not
+	 * recorded by default, and recording them imposes a small cost on each operation.
+	 */
+	public void recordStats() {
+		if (stats == null) {
+			synchronized (this) {
+				if (stats == null) {
+					stats = new StatsCounter();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the statistics of this cache, or {@code null} if statistics are not being recorded. A view of another
+	 * cache overrides this method to return the statistics of that cache, so that the view records into them even if
+	 * the other cache begins recording after the view is created.
+	 */
+	StatsCounter statsCounter() {
+		return stats;
+	}
+
+	/**
+	 * Returns a snapshot of the statistics recorded by this cache, or {@code null} if statistics are not being recorded.
+	 * 
+	 * @see #recordStats()
+	 */
+	public CacheStats stats() {
+		StatsCounter stats = statsCounter();
+		return stats == null ? null : stats.snapshot();
+	}
+
+	/**
+	 * Records a lookup that found the given value, which is {@code null} if the lookup missed, and returns the value.
+	 */
+	protected final V recordLookup(V value) {
+		StatsCounter stats = statsCounter();
+		if (stats != null) {
+			(value == null ? stats.misses : stats.hits).increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Records the putting of a new mapping.
+	 */
+	protected final void recordPut() {
+		StatsCounter stats = statsCounter();
+		if (stats != null) {
+			stats.puts.increment();
+		}
+	}
+
 }
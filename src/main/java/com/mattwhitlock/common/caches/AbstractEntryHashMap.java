@@ -0,0 +1,335 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The core of an open-addressing hash table whose entries are both the keys and the values of their mappings. Removed
+ * slots are marked with a tombstone rather than compacted, so removal through an iterator never disturbs the iteration
+ * order. Subclasses keep the keys, or hashes of the keys, in an array parallel to {@link #table} and implement the
+ * probing, so that probing a slot never dereferences the entry.
+ * 
+ * @author Matt Whitlock
+ */
+abstract class AbstractEntryHashMap<E> extends AbstractMap<E, E> {
+
+	private abstract class TableIterator<T> implements Iterator<T> {
+
+		int index = -1, nextIndex = -1, expectedModCount = modCount;
+
+		TableIterator() {
+			advance();
+		}
+
+		private void advance() {
+			Object[] table = AbstractEntryHashMap.this.table;
+			while (++nextIndex < table.length) {
+				Object o = table[nextIndex];
+				if (o != null && o != TOMBSTONE) {
+					return;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextIndex < table.length;
+		}
+
+		@SuppressWarnings("unchecked")
+		final E nextEntry() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (nextIndex >= table.length) {
+				throw new NoSuchElementException();
+			}
+			E entry = (E) table[index = nextIndex];
+			advance();
+			return entry;
+		}
+
+		@Override
+		public void remove() {
+			if (index < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			table[index] = TOMBSTONE;
+			--size;
+			expectedModCount = ++modCount;
+			index = -1;
+		}
+
+	}
+
+	/**
+	 * Splits the table by index, as {@link java.util.HashMap} does. The spliterator binds to the table upon first use.
+	 */
+	private final class TableSpliterator implements Spliterator<E> {
+
+		int index, fence, est, expectedModCount;
+
+		TableSpliterator(int index, int fence, int est, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.est = est;
+			this.expectedModCount = expectedModCount;
+		}
+
+		private int getFence() {
+			if (fence < 0) {
+				est = size;
+				expectedModCount = modCount;
+				fence = table.length;
+			}
+			return fence;
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			int lo = index, mid = lo + getFence() >>> 1;
+			return lo >= mid ? null : new TableSpliterator(lo, index = mid, est >>>= 1, expectedModCount);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(Consumer<? super E> action) {
+			int fence = getFence();
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			Object[] table = AbstractEntryHashMap.this.table;
+			while (index < fence) {
+				Object o = table[index++];
+				if (o != null && o != TOMBSTONE) {
+					action.accept((E) o);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void forEachRemaining(Consumer<? super E> action) {
+			int fence = getFence();
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			Object[] table = AbstractEntryHashMap.this.table;
+			for (int i = index; i < fence; ++i) {
+				Object o = table[i];
+				if (o != null && o != TOMBSTONE) {
+					action.accept((E) o);
+				}
+			}
+			index = fence;
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			getFence();
+			return est;
+		}
+
+		@Override
+		public int characteristics() {
+			return (fence < 0 || est == size ? SIZED : 0) | DISTINCT | NONNULL;
+		}
+
+	}
+
+	static final Object TOMBSTONE = new Object();
+
+	private static final int MINIMUM_CAPACITY = 16, MAXIMUM_CAPACITY = 1 << 30;
+
+	Object[] table;
+	int size, used, modCount;
+
+	/**
+	 * Constructs a table that can hold the given number of entries without resizing, or as many as the largest table can
+	 * hold if the given number is greater.
+	 *
+	 * @throws IllegalArgumentException if {@code expectedSize} is negative.
+	 */
+	AbstractEntryHashMap(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("expectedSize must not be negative");
+		}
+		int capacity = MINIMUM_CAPACITY;
+		while (capacity < MAXIMUM_CAPACITY && capacity - (capacity >>> 2) < expectedSize) {
+			capacity <<= 1;
+		}
+		table = new Object[capacity];
+	}
+
+	/**
+	 * Returns whether claiming one more empty slot would overfill the table, in which case {@link #resize()} must be
+	 * called first.
+	 */
+	final boolean isFull() {
+		return used + 1 > table.length - (table.length >>> 2);
+	}
+
+	/**
+	 * Tombstones the slot at the given index and returns the entry it held.
+	 */
+	@SuppressWarnings("unchecked")
+	final E removeAt(int i) {
+		E removed = (E) table[i];
+		table[i] = TOMBSTONE;
+		--size;
+		++modCount;
+		return removed;
+	}
+
+	/**
+	 * Replaces the table with one that is twice as large, or with a new one of the same size if at most half of the slots
+	 * hold entries, so that tombstones are discarded without growing the table.
+	 *
+	 * @throws IllegalStateException if the table is at its maximum capacity and cannot hold another entry.
+	 */
+	final void resize() {
+		Object[] oldTable = table;
+		int capacity = oldTable.length;
+		if (size >= capacity >>> 1) {
+			if (capacity >= MAXIMUM_CAPACITY) {
+				if (size + 1 > capacity - (capacity >>> 2)) {
+					throw new IllegalStateException("hash table cannot hold more than " + size + " entries");
+				}
+			}
+			else {
+				capacity <<= 1;
+			}
+		}
+		table = new Object[capacity];
+		rehash(oldTable);
+		used = size;
+	}
+
+	/**
+	 * Reinserts the entries of the given old table into {@link #table}, which has just been replaced. Implementations
+	 * must replace their parallel key arrays to match.
+	 */
+	abstract void rehash(Object[] oldTable);
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(table, null);
+		size = used = 0;
+		++modCount;
+	}
+
+	@Override
+	public Set<E> keySet() {
+		return new AbstractSet<E>() {
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public Iterator<E> iterator() {
+				return new TableIterator<E>() {
+
+					@Override
+					public E next() {
+						return nextEntry();
+					}
+
+				};
+			}
+
+			@Override
+			public Spliterator<E> spliterator() {
+				return new TableSpliterator(0, -1, 0, 0);
+			}
+
+		};
+	}
+
+	@Override
+	public Collection<E> values() {
+		return new AbstractCollection<E>() {
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public Iterator<E> iterator() {
+				return new TableIterator<E>() {
+
+					@Override
+					public E next() {
+						return nextEntry();
+					}
+
+				};
+			}
+
+			@Override
+			public Spliterator<E> spliterator() {
+				return new TableSpliterator(0, -1, 0, 0);
+			}
+
+		};
+	}
+
+	@Override
+	public Set<Map.Entry<E, E>> entrySet() {
+		return new AbstractSet<Map.Entry<E, E>>() {
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public Iterator<Map.Entry<E, E>> iterator() {
+				return new TableIterator<Map.Entry<E, E>>() {
+
+					@Override
+					public Map.Entry<E, E> next() {
+						E entry = nextEntry();
+						return new AbstractMap.SimpleImmutableEntry<>(entry, entry);
+					}
+
+				};
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An {@code int}-keyed {@link AbstractCache}.
+ * 
+ * @author Matt Whitlock
+ */
+public abstract class AbstractIntCache<V, E extends AbstractIntCache.Entry<V>> extends AbstractCache<Integer, V, E> {
+
+	/**
+	 * An {@code int}-keyed {@link AbstractCache.Entry}.
+	 */
+	protected interface Entry<V> extends AbstractCache.Entry<Integer, V> {
+
+		static class Probe<V> implements Entry<V> {
+
+			final int key;
+
+			Probe(int key) {
+				this.key = key;
+			}
+
+			@Override
+			public int getIntKey() {
+				return key;
+			}
+
+			@Override
+			public V getValue() {
+				return null;
+			}
+
+			@Override
+			public void removedFrom(AbstractCache<Integer, V, ?> cache) {
+				throw new InternalError();
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				return Entry.equals(this, obj);
+			}
+
+			@Override
+			public int hashCode() {
+				return Entry.hashCode(this);
+			}
+
+			@Override
+			public String toString() {
+				return Integer.toString(key);
+			}
+
+		}
+
+		@Override
+		default Integer getKey() {
+			return getIntKey();
+		}
+
+		/**
+		 * Returns the key with which this entry was created.
+		 */
+		int getIntKey();
+
+		/**
+		 * Convenience method for concrete implementations. This method would be {@code default} except that methods of
+		 * {@link Object} may not be overridden by interface default methods.
+		 */
+		static boolean equals(Entry<?> e1, Object o2) {
+			return e1 == o2 || o2 instanceof Entry<?> && e1.getIntKey() == ((Entry<?>) o2).getIntKey();
+		}
+
+		/**
+		 * Convenience method for concrete implementations. This method would be {@code default} except that methods of
+		 * {@link Object} may not be overridden by interface default methods.
+		 */
+		static int hashCode(Entry<?> e) {
+			return Integer.hashCode(e.getIntKey());
+		}
+
+		/**
+		 * Convenience method for concrete implementations. This method would be {@code default} except that methods of
+		 * {@link Object} may not be overridden by interface default methods.
+		 */
+		static String toString(Entry<?> e) {
+			return Integer.toString(e.getIntKey()) + '=' + Objects.toString(e.getValue());
+		}
+
+	}
+
+	protected AbstractIntCache(Map<E, E> map) {
+		super(map);
+	}
+
+	@Override
+	protected final E newEntry(Integer key, V value) {
+		return newEntry(key.intValue(), value);
+	}
+
+	/**
+	 * Constructs and returns a new {@link Entry} of the appropriate subclass for this cache.
+	 */
+	protected abstract E newEntry(int key, V value);
+
+	@Override
+	protected final E getEntry(Object key) {
+		return key instanceof Integer ? getEntry(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #getEntry(Object)
+	 */
+	protected E getEntry(int key) {
+		return map.get(new Entry.Probe<>(key));
+	}
+
+	@Override
+	protected final E removeEntry(Object key) {
+		return key instanceof Integer ? removeEntry(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #removeEntry(Object)
+	 */
+	protected E removeEntry(int key) {
+		return map.remove(new Entry.Probe<>(key));
+	}
+
+	@Override
+	public final boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey(((Integer) key).intValue());
+	}
+
+	/**
+	 * @see #containsKey(Object)
+	 */
+	public boolean containsKey(int key) {
+		return getEntry(key) != null;
+	}
+
+	@Override
+	public final V get(Object key) {
+		return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #get(Object)
+	 */
+	public V get(int key) {
+		processQueue();
+		return lookup(key);
+	}
+
+	@Override
+	protected final V lookup(Object key) {
+		return key instanceof Integer ? lookup(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #lookup(Object)
+	 */
+	protected V lookup(int key) {
+		E entry = getEntry(key);
+		return recordLookup(entry == null ? null : entry.getValue());
+	}
+
+	@Override
+	public final V put(Integer key, V value) {
+		return put(key.intValue(), value);
+	}
+
+	/**
+	 * @see #put(Integer, Object)
+	 */
+	public V put(int key, V value) {
+		Objects.requireNonNull(value);
+		E entry = newEntry(key, value), replaced = map.put(entry, entry);
+		recordPut();
+		if (replaced == null) {
+			return null;
+		}
+		V replacedValue = replaced.getValue();
+		removed(replaced, RemovalCause.REPLACED);
+		return replacedValue;
+	}
+
+	@Override
+	public final V remove(Object key) {
+		return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #remove(Object)
+	 */
+	public V remove(int key) {
+		E removed = removeEntry(key);
+		if (removed == null) {
+			return null;
+		}
+		V removedValue = removed.getValue();
+		removed(removed, RemovalCause.EXPLICIT);
+		return removedValue;
+	}
+
+}
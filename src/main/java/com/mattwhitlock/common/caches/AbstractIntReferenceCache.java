@@ -0,0 +1,72 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Map;
+
+/**
+ * An {@link AbstractIntCache} whose values are held by instances of a subclass of {@link Reference}. This allows the
+ * values to be spontaneously erased by the garbage collector.
+ * 
+ * @author Matt Whitlock
+ */
+public abstract class AbstractIntReferenceCache<V, E extends Reference<V> & AbstractIntCache.Entry<V>> extends AbstractIntCache<V, E> {
+
+	/**
+	 * The queue with which new entries are to be registered.
+	 */
+	protected final ReferenceQueue<? super V> queue;
+
+	/**
+	 * The {@link ReferenceReaper} that culls erased entries from this cache, or {@code null} if erased entries are
+	 * culled by {@link #processQueue()}.
+	 */
+	protected final ReferenceReaper reaper;
+
+	protected AbstractIntReferenceCache(Map<E, E> map) {
+		this(map, null);
+	}
+
+	/**
+	 * Constructs a cache whose erased entries are culled by the given {@link ReferenceReaper}, or by
+	 * {@link #processQueue()} if the given reaper is {@code null}. If a reaper is given, then this cache must implement
+	 * {@link java.util.concurrent.ConcurrentMap}, and entries constructed by {@link #newEntry} must implement
+	 * {@link ReferenceReaper.Reapable} and must be registered with {@link #queue}.
+	 * 
+	 * @throws IllegalArgumentException if a reaper is given and this cache does not implement
+	 *             {@link java.util.concurrent.ConcurrentMap}.
+	 */
+	protected AbstractIntReferenceCache(Map<E, E> map, ReferenceReaper reaper) {
+		super(map);
+		this.queue = reaper == null ? new ReferenceQueue<>() : reaper.register(this);
+		this.reaper = reaper;
+	}
+
+	/**
+	 * Culls erased entries from this cache. If this cache's erased entries are culled by a {@link ReferenceReaper}, then
+	 * this method does nothing unless the reaper has been closed.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void processQueue() {
+		if (reaper != null) {
+			reaper.reapIfClosed();
+			return;
+		}
+		Reference<?> ref = queue.poll();
+		if (ref == null) {
+			return;
+		}
+		Object event = CacheEvents.beginReap();
+		int count = 0;
+		do {
+			expunge((E) ref, RemovalCause.COLLECTED);
+			++count;
+		} while ((ref = queue.poll()) != null);
+		CacheEvents.endReap(event, this, count);
+	}
+
+}
@@ -3,6 +3,7 @@
  */
 package com.mattwhitlock.common.caches;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 
@@ -94,6 +95,24 @@ public abstract class AbstractLongCache<V, E extends AbstractLongCache.Entry<V>>
 
 	}
 
+	/**
+	 * An {@link AbstractCache.EntryCursor} over the entries of a {@code long}-keyed cache, which exposes their keys
+	 * without boxing them. Both {@link AbstractLongCache} and {@link AbstractNavigableLongCache} return instances of
+	 * this class from {@code cursor()}.
+	 */
+	static final class LongEntryCursor<V, E extends Entry<V>> extends AbstractCache<Long, V, E>.EntryCursor implements LongCursor<V> {
+
+		LongEntryCursor(AbstractCache<Long, V, E> cache, Iterator<E> delegate) {
+			cache.super(delegate);
+		}
+
+		@Override
+		public long longKey() {
+			return entry().getLongKey();
+		}
+
+	}
+
 	protected AbstractLongCache(Map<E, E> map) {
 		super(map);
 	}
@@ -108,6 +127,30 @@ public abstract class AbstractLongCache<V, E extends AbstractLongCache.Entry<V>>
 	 */
 	protected abstract E newEntry(long key, V value);
 
+	@Override
+	protected final E getEntry(Object key) {
+		return key instanceof Long ? getEntry(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * @see #getEntry(Object)
+	 */
+	protected E getEntry(long key) {
+		return map.get(new Entry.Probe<>(key));
+	}
+
+	@Override
+	protected final E removeEntry(Object key) {
+		return key instanceof Long ? removeEntry(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * @see #removeEntry(Object)
+	 */
+	protected E removeEntry(long key) {
+		return map.remove(new Entry.Probe<>(key));
+	}
+
 	@Override
 	public final boolean containsKey(Object key) {
 		return key instanceof Long && containsKey(((Long) key).longValue());
@@ -117,7 +160,7 @@ public abstract class AbstractLongCache<V, E extends AbstractLongCache.Entry<V>>
 	 * @see #containsKey(Object)
 	 */
 	public boolean containsKey(long key) {
-		return map.containsKey(new Entry.Probe<>(key));
+		return getEntry(key) != null;
 	}
 
 	@Override
@@ -129,8 +172,21 @@ public abstract class AbstractLongCache<V, E extends AbstractLongCache.Entry<V>>
 	 * @see #get(Object)
 	 */
 	public V get(long key) {
-		E entry = map.get(new Entry.Probe<>(key));
-		return entry == null ? null : entry.getValue();
+		processQueue();
+		return lookup(key);
+	}
+
+	@Override
+	protected final V lookup(Object key) {
+		return key instanceof Long ? lookup(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * @see #lookup(Object)
+	 */
+	protected V lookup(long key) {
+		E entry = getEntry(key);
+		return recordLookup(entry == null ? null : entry.getValue());
 	}
 
 	@Override
@@ -144,11 +200,13 @@ public abstract class AbstractLongCache<V, E extends AbstractLongCache.Entry<V>>
 	public V put(long key, V value) {
 		Objects.requireNonNull(value);
 		E entry = newEntry(key, value), replaced = map.put(entry, entry);
+		recordPut();
 		if (replaced == null) {
 			return null;
 		}
-		removed(replaced);
-		return replaced.getValue();
+		V replacedValue = replaced.getValue();
+		removed(replaced, RemovalCause.REPLACED);
+		return replacedValue;
 	}
 
 	@Override
@@ -160,12 +218,28 @@ public abstract class AbstractLongCache<V, E extends AbstractLongCache.Entry<V>>
 	 * @see #remove(Object)
 	 */
 	public V remove(long key) {
-		E removed = map.remove(new Entry.Probe<>(key));
+		E removed = removeEntry(key);
 		if (removed == null) {
 			return null;
 		}
-		removed(removed);
-		return removed.getValue();
+		V removedValue = removed.getValue();
+		removed(removed, RemovalCause.EXPLICIT);
+		return removedValue;
+	}
+
+	@Override
+	public LongCursor<V> cursor() {
+		return new LongEntryCursor<>(this, map.values().iterator());
+	}
+
+	/**
+	 * Performs the given action for each live mapping in this cache, without allocating an entry for each mapping or
+	 * boxing its key. This method is not an overload of {@link #forEach(java.util.function.BiConsumer)} only because an
+	 * implicitly typed lambda would then be ambiguous.
+	 */
+	public void forEachLong(LongObjConsumer<? super V> action) {
+		Objects.requireNonNull(action);
+		forEachEntry((entry, value) -> action.accept(entry.getLongKey(), value));
 	}
 
 }
@@ -85,14 +85,44 @@ public abstract class AbstractNavigableCache<K, V, E extends AbstractCache.Entry
 			return keyComparator;
 		}
 
+		@Override
+		public void recordStats() {
+			AbstractNavigableCache.this.recordStats();
+		}
+
+		@Override
+		StatsCounter statsCounter() {
+			return AbstractNavigableCache.this.statsCounter();
+		}
+
 		@Override
 		protected E newEntry(K key, V value) {
 			return AbstractNavigableCache.this.newEntry(key, value);
 		}
 
 		@Override
-		protected void removed(AbstractCache.Entry<K, V> entry) {
-			AbstractNavigableCache.this.removed(entry);
+		protected void removed(AbstractCache.Entry<K, V> entry, RemovalCause cause) {
+			AbstractNavigableCache.this.removed(entry, cause);
+		}
+
+		@Override
+		protected AbstractCache.Entry<?, ?> newProbe(Object key) {
+			return AbstractNavigableCache.this.newProbe(key);
+		}
+
+		@Override
+		protected void processQueue() {
+			AbstractNavigableCache.this.processQueue();
+		}
+
+		@Override
+		protected boolean expunge(E entry, RemovalCause cause) {
+			return AbstractNavigableCache.this.expunge(entry, cause);
+		}
+
+		@Override
+		protected void expunge(Iterator<E> it, E entry, RemovalCause cause) {
+			AbstractNavigableCache.this.expunge(it, entry, cause);
 		}
 
 	}
@@ -224,63 +254,63 @@ public abstract class AbstractNavigableCache<K, V, E extends AbstractCache.Entry
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<K, V> lowerEntry(K key) {
-		return nextValidEntry(((NavigableMap) map).headMap(new AbstractCache.Entry.Probe(key), false).navigableKeySet().descendingIterator());
+		return nextValidEntry(((NavigableMap) map).headMap(newProbe(key), false).descendingMap().values().iterator());
 	}
 
 	@Override
 	public K lowerKey(K key) {
 		@SuppressWarnings({ "rawtypes", "unchecked" })
-		E entry = (E) ((NavigableMap) map).lowerKey(new AbstractCache.Entry.Probe(key));
+		E entry = (E) ((NavigableMap) map).lowerKey(newProbe(key));
 		return entry == null ? null : entry.getKey();
 	}
 
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<K, V> floorEntry(K key) {
-		return nextValidEntry(((NavigableMap) map).headMap(new AbstractCache.Entry.Probe(key), true).navigableKeySet().descendingIterator());
+		return nextValidEntry(((NavigableMap) map).headMap(newProbe(key), true).descendingMap().values().iterator());
 	}
 
 	@Override
 	public K floorKey(K key) {
 		@SuppressWarnings({ "rawtypes", "unchecked" })
-		E entry = (E) ((NavigableMap) map).floorKey(new AbstractCache.Entry.Probe(key));
+		E entry = (E) ((NavigableMap) map).floorKey(newProbe(key));
 		return entry == null ? null : entry.getKey();
 	}
 
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<K, V> ceilingEntry(K key) {
-		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractCache.Entry.Probe(key), true).navigableKeySet().iterator());
+		return nextValidEntry(((NavigableMap) map).tailMap(newProbe(key), true).values().iterator());
 	}
 
 	@Override
 	public K ceilingKey(K key) {
 		@SuppressWarnings({ "rawtypes", "unchecked" })
-		E entry = (E) ((NavigableMap) map).ceilingKey(new AbstractCache.Entry.Probe(key));
+		E entry = (E) ((NavigableMap) map).ceilingKey(newProbe(key));
 		return entry == null ? null : entry.getKey();
 	}
 
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<K, V> higherEntry(K key) {
-		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractCache.Entry.Probe(key), false).navigableKeySet().iterator());
+		return nextValidEntry(((NavigableMap) map).tailMap(newProbe(key), false).values().iterator());
 	}
 
 	@Override
 	public K higherKey(K key) {
 		@SuppressWarnings({ "rawtypes", "unchecked" })
-		E entry = (E) ((NavigableMap) map).higherKey(new AbstractCache.Entry.Probe(key));
+		E entry = (E) ((NavigableMap) map).higherKey(newProbe(key));
 		return entry == null ? null : entry.getKey();
 	}
 
 	@Override
 	public Map.Entry<K, V> firstEntry() {
-		return nextValidEntry(((NavigableMap<E, E>) map).navigableKeySet().iterator());
+		return nextValidEntry(((NavigableMap<E, E>) map).values().iterator());
 	}
 
 	@Override
 	public Map.Entry<K, V> lastEntry() {
-		return nextValidEntry(((NavigableMap<E, E>) map).navigableKeySet().descendingIterator());
+		return nextValidEntry(((NavigableMap<E, E>) map).descendingMap().values().iterator());
 	}
 
 	@Override
@@ -328,7 +358,7 @@ public abstract class AbstractNavigableCache<K, V, E extends AbstractCache.Entry
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
-		return new NavigableCacheView(((NavigableMap) map).subMap(new AbstractCache.Entry.Probe(fromKey), fromInclusive, new AbstractCache.Entry.Probe(toKey), toInclusive), comparator());
+		return new NavigableCacheView(((NavigableMap) map).subMap(newProbe(fromKey), fromInclusive, newProbe(toKey), toInclusive), comparator());
 	}
 
 	@Override
@@ -339,7 +369,7 @@ public abstract class AbstractNavigableCache<K, V, E extends AbstractCache.Entry
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
-		return new NavigableCacheView(((NavigableMap) map).headMap(new AbstractCache.Entry.Probe(toKey), inclusive), comparator());
+		return new NavigableCacheView(((NavigableMap) map).headMap(newProbe(toKey), inclusive), comparator());
 	}
 
 	@Override
@@ -350,7 +380,7 @@ public abstract class AbstractNavigableCache<K, V, E extends AbstractCache.Entry
 	@Override
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
-		return new NavigableCacheView(((NavigableMap) map).tailMap(new AbstractCache.Entry.Probe(fromKey), inclusive), comparator());
+		return new NavigableCacheView(((NavigableMap) map).tailMap(newProbe(fromKey), inclusive), comparator());
 	}
 
 	protected Map.Entry<K, V> nextValidEntry(Iterator<E> it) {
@@ -360,8 +390,7 @@ public abstract class AbstractNavigableCache<K, V, E extends AbstractCache.Entry
 			if (value != null) {
 				return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value);
 			}
-			it.remove();
-			removed(entry);
+			expunge(it, entry, cullCause(entry));
 		}
 		return null;
 	}
@@ -0,0 +1,339 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.SortedMap;
+
+/**
+ * An {@code int}-keyed {@link AbstractNavigableCache}.
+ * 
+ * @author Matt Whitlock
+ */
+public abstract class AbstractNavigableIntCache<V, E extends AbstractIntCache.Entry<V>> extends AbstractNavigableCache<Integer, V, E> {
+
+	private static class NaturalEntryComparator implements Comparator<AbstractIntCache.Entry<?>>, EntryComparator<Integer> {
+
+		static final NaturalEntryComparator instance = new NaturalEntryComparator();
+
+		/**
+		 * Not instantiable.
+		 */
+		private NaturalEntryComparator() {
+		}
+
+		@Override
+		public Comparator<? super Integer> keyComparator() {
+			return null;
+		}
+
+		@Override
+		public int compare(AbstractIntCache.Entry<?> o1, AbstractIntCache.Entry<?> o2) {
+			return Integer.compare(o1.getIntKey(), o2.getIntKey());
+		}
+
+	}
+
+	protected static final Comparator<AbstractIntCache.Entry<?>> entryComparator = NaturalEntryComparator.instance;
+
+	protected AbstractNavigableIntCache(NavigableMap<E, E> map) {
+		super(map);
+		assert map.comparator() == entryComparator;
+	}
+
+	@Override
+	protected final E newEntry(Integer key, V value) {
+		return newEntry(key.intValue(), value);
+	}
+
+	protected abstract E newEntry(int key, V value);
+
+	@Override
+	protected final E getEntry(Object key) {
+		return key instanceof Integer ? getEntry(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #getEntry(Object)
+	 */
+	protected E getEntry(int key) {
+		return map.get(new AbstractIntCache.Entry.Probe<>(key));
+	}
+
+	@Override
+	protected final E removeEntry(Object key) {
+		return key instanceof Integer ? removeEntry(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #removeEntry(Object)
+	 */
+	protected E removeEntry(int key) {
+		return map.remove(new AbstractIntCache.Entry.Probe<>(key));
+	}
+
+	@Override
+	protected AbstractCache.Entry<?, ?> newProbe(Object key) {
+		return new AbstractIntCache.Entry.Probe<>(((Integer) key).intValue());
+	}
+
+	@Override
+	public final boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey(((Integer) key).intValue());
+	}
+
+	public boolean containsKey(int key) {
+		return getEntry(key) != null;
+	}
+
+	@Override
+	public final V get(Object key) {
+		return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #get(Object)
+	 */
+	public V get(int key) {
+		processQueue();
+		return lookup(key);
+	}
+
+	@Override
+	protected final V lookup(Object key) {
+		return key instanceof Integer ? lookup(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #lookup(Object)
+	 */
+	protected V lookup(int key) {
+		E entry = getEntry(key);
+		return recordLookup(entry == null ? null : entry.getValue());
+	}
+
+	@Override
+	public final V put(Integer key, V value) {
+		return put(key.intValue(), value);
+	}
+
+	/**
+	 * @see #put(Integer, Object)
+	 */
+	public V put(int key, V value) {
+		Objects.requireNonNull(value);
+		E entry = newEntry(key, value), replaced = map.put(entry, entry);
+		recordPut();
+		if (replaced == null) {
+			return null;
+		}
+		V replacedValue = replaced.getValue();
+		removed(replaced, RemovalCause.REPLACED);
+		return replacedValue;
+	}
+
+	@Override
+	public final V remove(Object key) {
+		return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+	}
+
+	/**
+	 * @see #remove(Object)
+	 */
+	public V remove(int key) {
+		E removed = removeEntry(key);
+		if (removed == null) {
+			return null;
+		}
+		V removedValue = removed.getValue();
+		removed(removed, RemovalCause.EXPLICIT);
+		return removedValue;
+	}
+
+	/**
+	 * @see #firstKey()
+	 */
+	public int firstIntKey() {
+		return ((NavigableMap<E, E>) map).firstKey().getIntKey();
+	}
+
+	/**
+	 * @see #lastKey()
+	 */
+	public int lastIntKey() {
+		return ((NavigableMap<E, E>) map).lastKey().getIntKey();
+	}
+
+	@Override
+	public final Map.Entry<Integer, V> lowerEntry(Integer key) {
+		return lowerEntry(key.intValue());
+	}
+
+	/**
+	 * @see #lowerEntry(Integer)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Map.Entry<Integer, V> lowerEntry(int key) {
+		return nextValidEntry(((NavigableMap) map).headMap(new AbstractIntCache.Entry.Probe(key), false).descendingMap().values().iterator());
+	}
+
+	@Override
+	public final Integer lowerKey(Integer key) {
+		return lowerKey(key.intValue());
+	}
+
+	/**
+	 * @see #lowerKey(Integer)
+	 */
+	public Integer lowerKey(int key) {
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		E entry = (E) ((NavigableMap) map).lowerKey(new AbstractIntCache.Entry.Probe(key));
+		return entry == null ? null : entry.getKey();
+	}
+
+	@Override
+	public final Map.Entry<Integer, V> floorEntry(Integer key) {
+		return floorEntry(key.intValue());
+	}
+
+	/**
+	 * @see #floorEntry(Integer)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Map.Entry<Integer, V> floorEntry(int key) {
+		return nextValidEntry(((NavigableMap) map).headMap(new AbstractIntCache.Entry.Probe(key), true).descendingMap().values().iterator());
+	}
+
+	@Override
+	public final Integer floorKey(Integer key) {
+		return floorKey(key.intValue());
+	}
+
+	/**
+	 * @see #floorKey(Integer)
+	 */
+	public Integer floorKey(int key) {
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		E entry = (E) ((NavigableMap) map).floorKey(new AbstractIntCache.Entry.Probe(key));
+		return entry == null ? null : entry.getKey();
+	}
+
+	@Override
+	public final Map.Entry<Integer, V> ceilingEntry(Integer key) {
+		return ceilingEntry(key.intValue());
+	}
+
+	/**
+	 * @see #ceilingEntry(Integer)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Map.Entry<Integer, V> ceilingEntry(int key) {
+		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractIntCache.Entry.Probe(key), true).values().iterator());
+	}
+
+	@Override
+	public final Integer ceilingKey(Integer key) {
+		return ceilingKey(key.intValue());
+	}
+
+	/**
+	 * @see #ceilingKey(Integer)
+	 */
+	public Integer ceilingKey(int key) {
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		E entry = (E) ((NavigableMap) map).ceilingKey(new AbstractIntCache.Entry.Probe(key));
+		return entry == null ? null : entry.getKey();
+	}
+
+	@Override
+	public final Map.Entry<Integer, V> higherEntry(Integer key) {
+		return higherEntry(key.intValue());
+	}
+
+	/**
+	 * @see #higherEntry(Integer)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Map.Entry<Integer, V> higherEntry(int key) {
+		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractIntCache.Entry.Probe(key), false).values().iterator());
+	}
+
+	@Override
+	public final Integer higherKey(Integer key) {
+		return higherKey(key.intValue());
+	}
+
+	/**
+	 * @see #higherKey(Integer)
+	 */
+	public Integer higherKey(int key) {
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		E entry = (E) ((NavigableMap) map).higherKey(new AbstractIntCache.Entry.Probe(key));
+		return entry == null ? null : entry.getKey();
+	}
+
+	/**
+	 * @see #subMap(Object, Object)
+	 */
+	public final SortedMap<Integer, V> subMap(int fromKey, int toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public final NavigableMap<Integer, V> subMap(Integer fromKey, boolean fromInclusive, Integer toKey, boolean toInclusive) {
+		return subMap(fromKey.intValue(), fromInclusive, toKey.intValue(), toInclusive);
+	}
+
+	/**
+	 * @see #subMap(Integer, boolean, Integer, boolean)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public NavigableMap<Integer, V> subMap(int fromKey, boolean fromInclusive, int toKey, boolean toInclusive) {
+		return new NavigableCacheView(((NavigableMap) map).subMap(new AbstractIntCache.Entry.Probe(fromKey), fromInclusive, new AbstractIntCache.Entry.Probe(toKey), toInclusive), comparator());
+	}
+
+	/**
+	 * @see #headMap(Object)
+	 */
+	public final SortedMap<Integer, V> headMap(int toKey) {
+		return headMap(toKey, false);
+	}
+
+	@Override
+	public final NavigableMap<Integer, V> headMap(Integer toKey, boolean inclusive) {
+		return headMap(toKey.intValue(), inclusive);
+	}
+
+	/**
+	 * @see #headMap(Integer, boolean)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public NavigableMap<Integer, V> headMap(int toKey, boolean inclusive) {
+		return new NavigableCacheView(((NavigableMap) map).headMap(new AbstractIntCache.Entry.Probe(toKey), inclusive), comparator());
+	}
+
+	/**
+	 * @see #tailMap(Object)
+	 */
+	public final SortedMap<Integer, V> tailMap(int fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	@Override
+	public final NavigableMap<Integer, V> tailMap(Integer fromKey, boolean inclusive) {
+		return tailMap(fromKey.intValue(), inclusive);
+	}
+
+	/**
+	 * @see #tailMap(Integer, boolean)
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public NavigableMap<Integer, V> tailMap(int fromKey, boolean inclusive) {
+		return new NavigableCacheView(((NavigableMap) map).tailMap(new AbstractIntCache.Entry.Probe(fromKey), inclusive), comparator());
+	}
+
+}
@@ -52,13 +52,42 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 
 	protected abstract E newEntry(long key, V value);
 
+	@Override
+	protected final E getEntry(Object key) {
+		return key instanceof Long ? getEntry(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * @see #getEntry(Object)
+	 */
+	protected E getEntry(long key) {
+		return map.get(new AbstractLongCache.Entry.Probe<>(key));
+	}
+
+	@Override
+	protected final E removeEntry(Object key) {
+		return key instanceof Long ? removeEntry(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * @see #removeEntry(Object)
+	 */
+	protected E removeEntry(long key) {
+		return map.remove(new AbstractLongCache.Entry.Probe<>(key));
+	}
+
+	@Override
+	protected AbstractCache.Entry<?, ?> newProbe(Object key) {
+		return new AbstractLongCache.Entry.Probe<>(((Long) key).longValue());
+	}
+
 	@Override
 	public final boolean containsKey(Object key) {
 		return key instanceof Long && containsKey(((Long) key).longValue());
 	}
 
 	public boolean containsKey(long key) {
-		return map.containsKey(new AbstractLongCache.Entry.Probe<>(key));
+		return getEntry(key) != null;
 	}
 
 	@Override
@@ -70,8 +99,21 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	 * @see #get(Object)
 	 */
 	public V get(long key) {
-		E entry = map.get(new AbstractLongCache.Entry.Probe<>(key));
-		return entry == null ? null : entry.getValue();
+		processQueue();
+		return lookup(key);
+	}
+
+	@Override
+	protected final V lookup(Object key) {
+		return key instanceof Long ? lookup(((Long) key).longValue()) : null;
+	}
+
+	/**
+	 * @see #lookup(Object)
+	 */
+	protected V lookup(long key) {
+		E entry = getEntry(key);
+		return recordLookup(entry == null ? null : entry.getValue());
 	}
 
 	@Override
@@ -85,11 +127,13 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	public V put(long key, V value) {
 		Objects.requireNonNull(value);
 		E entry = newEntry(key, value), replaced = map.put(entry, entry);
+		recordPut();
 		if (replaced == null) {
 			return null;
 		}
-		removed(replaced);
-		return replaced.getValue();
+		V replacedValue = replaced.getValue();
+		removed(replaced, RemovalCause.REPLACED);
+		return replacedValue;
 	}
 
 	@Override
@@ -101,12 +145,13 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	 * @see #remove(Object)
 	 */
 	public V remove(long key) {
-		E removed = map.remove(new AbstractLongCache.Entry.Probe<>(key));
+		E removed = removeEntry(key);
 		if (removed == null) {
 			return null;
 		}
-		removed(removed);
-		return removed.getValue();
+		V removedValue = removed.getValue();
+		removed(removed, RemovalCause.EXPLICIT);
+		return removedValue;
 	}
 
 	/**
@@ -133,7 +178,7 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<Long, V> lowerEntry(long key) {
-		return nextValidEntry(((NavigableMap) map).headMap(new AbstractLongCache.Entry.Probe(key), false).navigableKeySet().descendingIterator());
+		return nextValidEntry(((NavigableMap) map).headMap(new AbstractLongCache.Entry.Probe(key), false).descendingMap().values().iterator());
 	}
 
 	@Override
@@ -160,7 +205,7 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<Long, V> floorEntry(long key) {
-		return nextValidEntry(((NavigableMap) map).headMap(new AbstractLongCache.Entry.Probe(key), true).navigableKeySet().descendingIterator());
+		return nextValidEntry(((NavigableMap) map).headMap(new AbstractLongCache.Entry.Probe(key), true).descendingMap().values().iterator());
 	}
 
 	@Override
@@ -187,7 +232,7 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<Long, V> ceilingEntry(long key) {
-		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractLongCache.Entry.Probe(key), true).navigableKeySet().iterator());
+		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractLongCache.Entry.Probe(key), true).values().iterator());
 	}
 
 	@Override
@@ -214,7 +259,7 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 	 */
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public Map.Entry<Long, V> higherEntry(long key) {
-		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractLongCache.Entry.Probe(key), false).navigableKeySet().iterator());
+		return nextValidEntry(((NavigableMap) map).tailMap(new AbstractLongCache.Entry.Probe(key), false).values().iterator());
 	}
 
 	@Override
@@ -280,7 +325,7 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 
 	@Override
 	public final NavigableMap<Long, V> tailMap(Long fromKey, boolean inclusive) {
-		return super.tailMap(fromKey.longValue(), inclusive);
+		return tailMap(fromKey.longValue(), inclusive);
 	}
 
 	/**
@@ -291,4 +336,17 @@ public abstract class AbstractNavigableLongCache<V, E extends AbstractLongCache.
 		return new NavigableCacheView(((NavigableMap) map).tailMap(new AbstractLongCache.Entry.Probe(fromKey), inclusive), comparator());
 	}
 
+	@Override
+	public LongCursor<V> cursor() {
+		return new AbstractLongCache.LongEntryCursor<>(this, map.values().iterator());
+	}
+
+	/**
+	 * @see AbstractLongCache#forEachLong(LongObjConsumer)
+	 */
+	public void forEachLong(LongObjConsumer<? super V> action) {
+		Objects.requireNonNull(action);
+		forEachEntry((entry, value) -> action.accept(entry.getLongKey(), value));
+	}
+
 }
@@ -0,0 +1,182 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * A cache that loads values asynchronously. Values are loaded on a given {@link Executor}, and requests for values are
+ * answered with {@link CompletableFuture}s, so that requesting threads never wait for loads. Loaded values are kept in
+ * a backing {@link AbstractCache}, such as a {@link SoftCache} or a {@link NavigableSoftCache}. A load that is in
+ * progress is shared by all requests for its key, and a load that fails is forgotten, so that the next request for its
+ * key starts a new load. Each request is answered with its own dependent future, so a requester that completes or
+ * cancels its future does not affect the futures of other requesters. Keys may not be {@code null}.
+ * <p>
+ * The backing cache is accessed while holding its monitor unless it implements {@link ConcurrentMap}, so a backing
+ * cache that is not thread-safe must be guarded by synchronizing on the cache itself if it is accessed other than
+ * through this {@link AsyncCache}.
+ * 
+ * @author Matt Whitlock
+ */
+public class AsyncCache<K, V> {
+
+	private final AbstractCache<K, V, ?> store;
+
+	/**
+	 * Whether {@link #store} is thread-safe, or else must be accessed while holding its monitor.
+	 */
+	private final boolean concurrent;
+
+	private final Executor executor;
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs an {@link AsyncCache} that keeps loaded values in a new {@link ConcurrentSoftCache} and loads values
+	 * on the given {@link Executor}.
+	 */
+	public AsyncCache(Executor executor) {
+		this(new ConcurrentSoftCache<>(), executor);
+	}
+
+	/**
+	 * Constructs an {@link AsyncCache} that keeps loaded values in the given cache and loads values on the given
+	 * {@link Executor}.
+	 */
+	public AsyncCache(AbstractCache<K, V, ?> store, Executor executor) {
+		this.store = store;
+		this.executor = executor;
+		concurrent = store instanceof ConcurrentMap<?, ?>;
+	}
+
+	/**
+	 * Returns the cache in which loaded values are kept.
+	 */
+	public AbstractCache<K, V, ?> store() {
+		return store;
+	}
+
+	/**
+	 * Returns a future of the value to which the given key is mapped. If the value is neither cached nor being loaded,
+	 * then this method starts loading it by submitting the given loader to this cache's {@link Executor}. If the loader
+	 * returns {@code null}, then the future completes with {@code null} and no mapping is kept.
+	 */
+	public CompletableFuture<V> get(K key, Function<? super K, ? extends V> loader) {
+		V value = storeGet(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture(value);
+		}
+		CompletableFuture<V> future = pending.get(key);
+		if (future != null) {
+			return dependent(future);
+		}
+		CompletableFuture<V> load = new CompletableFuture<>();
+		if ((future = pending.putIfAbsent(key, load)) != null) {
+			return dependent(future);
+		}
+		if ((value = storeGet(key)) != null) {
+			pending.remove(key, load);
+			load.complete(value);
+			return load;
+		}
+		try {
+			executor.execute(() -> {
+				V loaded;
+				try {
+					Object event = CacheEvents.beginLoad();
+					try {
+						loaded = loader.apply(key);
+					}
+					catch (Throwable t) {
+						CacheEvents.endLoad(event, this, false);
+						throw t;
+					}
+					CacheEvents.endLoad(event, this, loaded != null);
+					if (loaded != null) {
+						storePut(key, loaded);
+					}
+				}
+				catch (Throwable t) {
+					pending.remove(key, load);
+					load.completeExceptionally(t);
+					return;
+				}
+				pending.remove(key, load);
+				load.complete(loaded);
+			});
+		}
+		catch (RuntimeException e) {
+			pending.remove(key, load);
+			load.completeExceptionally(e);
+		}
+		return dependent(load);
+	}
+
+	/**
+	 * Returns a future of the value to which the given key is mapped if the value is cached or is being loaded, or else
+	 * returns {@code null}.
+	 */
+	public CompletableFuture<V> getIfPresent(K key) {
+		V value = storeGet(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture(value);
+		}
+		CompletableFuture<V> future = pending.get(key);
+		return future != null ? dependent(future) : null;
+	}
+
+	/**
+	 * Caches the given value for the given key.
+	 */
+	public void put(K key, V value) {
+		storePut(key, value);
+	}
+
+	/**
+	 * Removes the cached value for the given key. A load of the key that is in progress is not affected.
+	 */
+	public void remove(K key) {
+		if (concurrent) {
+			store.remove(key);
+		}
+		else {
+			synchronized (store) {
+				store.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Returns a new future that completes as the given shared future does, so that the shared future cannot be
+	 * completed by a requester.
+	 */
+	private static <V> CompletableFuture<V> dependent(CompletableFuture<V> future) {
+		return future.thenApply(Function.identity());
+	}
+
+	private V storeGet(K key) {
+		if (concurrent) {
+			return store.get(key);
+		}
+		synchronized (store) {
+			return store.get(key);
+		}
+	}
+
+	private void storePut(K key, V value) {
+		if (concurrent) {
+			store.put(key, value);
+		}
+		else {
+			synchronized (store) {
+				store.put(key, value);
+			}
+		}
+	}
+
+}
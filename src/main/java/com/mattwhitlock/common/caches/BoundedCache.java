@@ -0,0 +1,274 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link AbstractCache} that holds its values strongly and holds at most a fixed number of mappings, evicting
+ * mappings according to the W-TinyLFU policy.
+ * <p>
+ * New mappings enter a small admission window, which is ordered by recency. A mapping that falls out of the window
+ * becomes a candidate for the main region, which is a segmented LRU having a probationary segment and a protected
+ * segment. The candidate is admitted only if its estimated access frequency, as recorded by a {@link FrequencySketch},
+ * exceeds that of the main region's eviction victim; otherwise the candidate itself is evicted. A probationary mapping
+ * that is accessed again is promoted to the protected segment. This policy retains frequently used mappings even when
+ * the cache is swept by a scan of mappings that are used only once.
+ * <p>
+ * Evicted entries are notified through {@link AbstractCache.Entry#removedFrom(AbstractCache)}.
+ * 
+ * @author Matt Whitlock
+ */
+public class BoundedCache<K, V> extends AbstractCache<K, V, BoundedCache.Entry<K, V>> {
+
+	private static final byte WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+	public static class Entry<K, V> implements AbstractCache.Entry<K, V> {
+
+		protected final K key;
+
+		protected V value;
+
+		/**
+		 * The region of the cache in which this entry resides.
+		 */
+		byte region;
+
+		/**
+		 * The neighbors of this entry in its region's recency list.
+		 */
+		Entry<K, V> prev, next;
+
+		protected Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public void removedFrom(AbstractCache<K, V, ?> cache) {
+			value = null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return AbstractCache.Entry.equals(this, obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return AbstractCache.Entry.hashCode(this);
+		}
+
+		@Override
+		public String toString() {
+			return AbstractCache.Entry.toString(this);
+		}
+
+	}
+
+	private final EntryHashMap<K, Entry<K, V>> table;
+
+	private final FrequencySketch sketch;
+
+	/**
+	 * The sentinels of the circular recency lists of the regions, each ordered from most to least recently used.
+	 */
+	private final Entry<K, V> window = new Entry<>(null, null), probation = new Entry<>(null, null), protectedSegment = new Entry<>(null, null);
+
+	private final int maximumSize, windowMaximum, protectedMaximum;
+
+	private int windowSize, protectedSize;
+
+	/**
+	 * Constructs a {@link BoundedCache} that holds at most {@code maximumSize} mappings.
+	 */
+	public BoundedCache(int maximumSize) {
+		this(new EntryHashMap<>(), maximumSize);
+	}
+
+	private BoundedCache(EntryHashMap<K, Entry<K, V>> table, int maximumSize) {
+		super(table);
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be positive");
+		}
+		this.table = table;
+		this.maximumSize = maximumSize;
+		windowMaximum = Math.max(1, maximumSize / 100);
+		protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+		sketch = new FrequencySketch(maximumSize);
+		window.prev = window.next = window;
+		probation.prev = probation.next = probation;
+		protectedSegment.prev = protectedSegment.next = protectedSegment;
+	}
+
+	/**
+	 * Returns the maximum number of mappings that this cache will hold.
+	 */
+	public int maximumSize() {
+		return maximumSize;
+	}
+
+	@Override
+	protected Entry<K, V> newEntry(K key, V value) {
+		return new Entry<>(key, value);
+	}
+
+	@Override
+	protected V lookup(Object key) {
+		sketch.increment(EntryHashMap.hash(key));
+		Entry<K, V> entry = table.getEntry(key);
+		if (entry == null) {
+			return recordLookup(null);
+		}
+		onAccess(entry);
+		return recordLookup(entry.value);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		Objects.requireNonNull(value);
+		sketch.increment(EntryHashMap.hash(key));
+		Entry<K, V> entry = newEntry(key, value), replaced = table.putEntry(entry);
+		recordPut();
+		V replacedValue = null;
+		if (replaced != null) {
+			replacedValue = replaced.value;
+			removed(replaced, RemovalCause.REPLACED);
+		}
+		link(entry, WINDOW, window);
+		evict();
+		return replacedValue;
+	}
+
+	/**
+	 * Returns the keys of the protected segment, then of the admission window, and then of the probationary segment,
+	 * each most recently used first.
+	 */
+	@Override
+	public List<K> hottestKeys(int limit) {
+		List<K> keys = new ArrayList<>(Math.min(limit, table.size()));
+		addKeys(keys, protectedSegment, limit);
+		addKeys(keys, window, limit);
+		addKeys(keys, probation, limit);
+		return keys;
+	}
+
+	private static <K> void addKeys(List<K> keys, Entry<K, ?> head, int limit) {
+		for (Entry<K, ?> entry = head.next; entry != head && keys.size() < limit; entry = entry.next) {
+			keys.add(entry.key);
+		}
+	}
+
+	@Override
+	protected Entry<K, V> getEntry(Object key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<K, V> removeEntry(Object key) {
+		return table.removeEntry(key);
+	}
+
+	@Override
+	protected void removed(AbstractCache.Entry<K, V> entry, RemovalCause cause) {
+		Entry<K, V> e = (Entry<K, V>) entry;
+		if (e.next != null) {
+			unlink(e);
+		}
+		super.removed(entry, cause);
+	}
+
+	private void onAccess(Entry<K, V> entry) {
+		switch (entry.region) {
+			case WINDOW:
+				moveToFront(entry, window);
+				break;
+			case PROBATION:
+				unlink(entry);
+				link(entry, PROTECTED, protectedSegment);
+				while (protectedSize > protectedMaximum) {
+					Entry<K, V> demoted = protectedSegment.prev;
+					unlink(demoted);
+					link(demoted, PROBATION, probation);
+				}
+				break;
+			case PROTECTED:
+				moveToFront(entry, protectedSegment);
+				break;
+		}
+	}
+
+	/**
+	 * Moves overflow from the admission window into the probationary segment and then evicts mappings until this cache
+	 * is within its maximum size.
+	 */
+	private void evict() {
+		Entry<K, V> candidate = null;
+		while (windowSize > windowMaximum) {
+			candidate = window.prev;
+			unlink(candidate);
+			link(candidate, PROBATION, probation);
+		}
+		while (table.size() > maximumSize) {
+			Entry<K, V> victim = probation.prev != probation ? probation.prev : protectedSegment.prev != protectedSegment ? protectedSegment.prev : window.prev;
+			if (candidate != null && candidate != victim && candidate.next != null) {
+				if (sketch.frequency(EntryHashMap.hash(candidate.key)) <= sketch.frequency(EntryHashMap.hash(victim.key))) {
+					victim = candidate;
+				}
+				candidate = null;
+			}
+			expunge(victim, RemovalCause.EVICTED);
+		}
+	}
+
+	private void moveToFront(Entry<K, V> entry, Entry<K, V> head) {
+		if (head.next != entry) {
+			entry.prev.next = entry.next;
+			entry.next.prev = entry.prev;
+			entry.prev = head;
+			entry.next = head.next;
+			head.next.prev = entry;
+			head.next = entry;
+		}
+	}
+
+	private void link(Entry<K, V> entry, byte region, Entry<K, V> head) {
+		entry.region = region;
+		entry.prev = head;
+		entry.next = head.next;
+		head.next.prev = entry;
+		head.next = entry;
+		if (region == WINDOW) {
+			++windowSize;
+		}
+		else if (region == PROTECTED) {
+			++protectedSize;
+		}
+	}
+
+	private void unlink(Entry<K, V> entry) {
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+		entry.prev = entry.next = null;
+		if (entry.region == WINDOW) {
+			--windowSize;
+		}
+		else if (entry.region == PROTECTED) {
+			--protectedSize;
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * Emits JDK Flight Recorder events describing the activity of caches. If the runtime does not include the
+ * {@code jdk.jfr} module, then the methods of this class do nothing, and no Flight Recorder classes are loaded.
+ * Otherwise, whether events are recorded is governed by the settings of the active recordings.
+ * <p>
+ * An event that has a duration is emitted by passing the token returned by a {@code begin} method to the corresponding
+ * {@code end} method. The token is {@code null} if the event is not enabled.
+ * 
+ * @author Matt Whitlock
+ */
+final class CacheEvents {
+
+	private static final boolean available = isAvailable();
+
+	private CacheEvents() {
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, CacheEvents.class.getClassLoader());
+			return true;
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Begins an event recording the culling of erased mappings from a cache.
+	 */
+	static Object beginReap() {
+		return available ? JfrCacheEvents.beginReap() : null;
+	}
+
+	/**
+	 * Ends an event begun by {@link #beginReap()}, recording that {@code count} mappings were culled from the given
+	 * cache.
+	 */
+	static void endReap(Object token, AbstractCache<?, ?, ?> cache, int count) {
+		if (token != null) {
+			JfrCacheEvents.endReap(token, cache, count);
+		}
+	}
+
+	/**
+	 * Begins an event recording the loading of a value into a cache.
+	 */
+	static Object beginLoad() {
+		return available ? JfrCacheEvents.beginLoad() : null;
+	}
+
+	/**
+	 * Ends an event begun by {@link #beginLoad()}, recording whether a value was loaded into the given cache.
+	 */
+	static void endLoad(Object token, Object cache, boolean loaded) {
+		if (token != null) {
+			JfrCacheEvents.endLoad(token, cache, loaded);
+		}
+	}
+
+	/**
+	 * Records that a mapping was removed from the given cache for the given reason.
+	 */
+	static void removed(AbstractCache<?, ?, ?> cache, RemovalCause cause) {
+		if (available) {
+			JfrCacheEvents.removed(cache, cause);
+		}
+	}
+
+}
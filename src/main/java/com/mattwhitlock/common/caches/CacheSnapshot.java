@@ -0,0 +1,314 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Saves the hottest mappings of a cache to a file and restores them into another cache, so that a restarted process
+ * need not begin with a cold cache.
+ * <p>
+ * A snapshot is a stream of length-prefixed records, written and read through a {@link FileChannel} in large blocks. It
+ * begins with a four-byte magic number and four bytes of flags, the only flag being whether the snapshot holds values.
+ * Each record is a four-byte length followed by the encoded key and, if the snapshot holds values, another four-byte
+ * length followed by the encoded value. All integers are big-endian. Records appear in the order returned by
+ * {@link AbstractCache#hottestKeys(int)}, so a snapshot truncated by a crash still holds the hottest mappings, and a
+ * truncated final record is ignored.
+ * <p>
+ * Restoring puts mappings from several threads at once. A cache that does not implement {@link ConcurrentMap} is
+ * accessed while holding its monitor, both when writing and when restoring, so such a cache must be guarded by
+ * synchronizing on the cache itself if it is accessed by any other thread. The codecs may be invoked concurrently.
+ *
+ * @author Matt Whitlock
+ */
+public final class CacheSnapshot {
+
+	private static final int MAGIC = 0x4A435331; // "JCS1"
+
+	private static final int HAS_VALUES = 1;
+
+	private static final int BLOCK_SIZE = 1 << 20;
+
+	/**
+	 * A record read from a snapshot. The buffers are valid only until the next block is read.
+	 */
+	private static final class Record {
+
+		final ByteBuffer key, value;
+
+		Record(ByteBuffer key, ByteBuffer value) {
+			this.key = key;
+			this.value = value;
+		}
+
+	}
+
+	/**
+	 * Not instantiable.
+	 */
+	private CacheSnapshot() {
+	}
+
+	/**
+	 * Writes at most {@code limit} of the hottest live mappings of the given cache to a snapshot at the given path,
+	 * replacing any existing file, and returns the number of mappings written. If {@code valueCodec} is {@code null},
+	 * only the keys are written, and the snapshot can be restored only by {@link #load}. The snapshot is written to a
+	 * temporary file that then replaces the destination atomically, or that is deleted if the snapshot cannot be
+	 * written. The mappings are captured before any is encoded, so a cache that does not implement
+	 * {@link ConcurrentMap} is locked only while they are captured.
+	 */
+	public static <K, V> int write(AbstractCache<K, V, ?> cache, Path path, int limit, Codec<? super K> keyCodec, Codec<? super V> valueCodec) throws IOException {
+		List<Map.Entry<K, V>> mappings;
+		if (cache instanceof ConcurrentMap<?, ?>) {
+			mappings = hottestMappings(cache, limit);
+		}
+		else {
+			synchronized (cache) {
+				mappings = hottestMappings(cache, limit);
+			}
+		}
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+				buffer.putInt(MAGIC).putInt(valueCodec == null ? 0 : HAS_VALUES);
+				for (Map.Entry<K, V> mapping : mappings) {
+					putChunk(channel, buffer, keyCodec.encode(mapping.getKey()));
+					if (valueCodec != null) {
+						putChunk(channel, buffer, valueCodec.encode(mapping.getValue()));
+					}
+				}
+				flush(channel, buffer);
+				channel.force(true);
+			}
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException | RuntimeException | Error e) {
+			try {
+				Files.deleteIfExists(temp);
+			}
+			catch (IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+		return mappings.size();
+	}
+
+	/**
+	 * Puts the mappings of the snapshot at the given path, which must hold values, into the given cache and returns the
+	 * number of mappings put. Each block of records is decoded in parallel while the next is yet to be read.
+	 */
+	public static <K, V> int read(Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec, AbstractCache<K, V, ?> cache) throws IOException {
+		AtomicInteger count = new AtomicInteger();
+		scan(path, true, records -> records.parallelStream().forEach(record -> {
+			if (put(cache, keyCodec.decode(record.key), valueCodec.decode(record.value))) {
+				count.incrementAndGet();
+			}
+		}));
+		return count.get();
+	}
+
+	/**
+	 * Loads the keys of the snapshot at the given path into the given cache by invoking the given loader for each key
+	 * on the given {@link Executor}, and returns the number of mappings put. Any values in the snapshot are ignored, so
+	 * this method restores fresh values from their source. Keys for which the loader returns {@code null} are skipped.
+	 * At most one block of keys is loaded at a time.
+	 *
+	 * @throws CompletionException if the loader throws a checked exception. An unchecked exception thrown by the loader
+	 * is rethrown as is after the block of keys in which it was thrown has been loaded.
+	 */
+	public static <K, V> int load(Path path, Codec<? extends K> keyCodec, AbstractCache<K, V, ?> cache, Function<? super K, ? extends V> loader, Executor executor) throws IOException {
+		AtomicInteger count = new AtomicInteger();
+		scan(path, false, records -> {
+			List<CompletableFuture<Void>> futures = new ArrayList<>(records.size());
+			for (Record record : records) {
+				K key = keyCodec.decode(record.key);
+				futures.add(CompletableFuture.runAsync(() -> {
+					V value = loader.apply(key);
+					if (value != null && put(cache, key, value)) {
+						count.incrementAndGet();
+					}
+				}, executor));
+			}
+			try {
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+			}
+			catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		});
+		return count.get();
+	}
+
+	/**
+	 * Returns at most {@code limit} of the hottest live mappings of the given cache, hottest first.
+	 */
+	private static <K, V> List<Map.Entry<K, V>> hottestMappings(AbstractCache<K, V, ?> cache, int limit) {
+		List<K> keys = cache.hottestKeys(limit);
+		List<Map.Entry<K, V>> mappings = new ArrayList<>(keys.size());
+		for (K key : keys) {
+			AbstractCache.Entry<K, V> entry = cache.getEntry(key);
+			V value = entry == null ? null : entry.getValue();
+			if (value != null) {
+				mappings.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+			}
+		}
+		return mappings;
+	}
+
+	private static <K, V> boolean put(AbstractCache<K, V, ?> cache, K key, V value) {
+		if (value == null) {
+			return false;
+		}
+		if (cache instanceof ConcurrentMap<?, ?>) {
+			cache.put(key, value);
+		}
+		else {
+			synchronized (cache) {
+				cache.put(key, value);
+			}
+		}
+		return true;
+	}
+
+	private interface BlockHandler {
+
+		void handle(List<Record> records) throws IOException;
+
+	}
+
+	/**
+	 * Reads the snapshot at the given path block by block, passing the complete records of each block to the given
+	 * handler.
+	 */
+	private static void scan(Path path, boolean needValues, BlockHandler handler) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+			((Buffer) buffer).flip();
+			if (!fill(channel, buffer, 8) || buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+				throw new IOException("not a cache snapshot: " + path);
+			}
+			boolean hasValues = (buffer.getInt() & HAS_VALUES) != 0;
+			if (needValues && !hasValues) {
+				throw new IOException("cache snapshot holds no values: " + path);
+			}
+			List<Record> records = new ArrayList<>();
+			for (boolean eof = false; !eof;) {
+				for (;;) {
+					int start = buffer.position();
+					ByteBuffer key = getChunk(buffer), value = null;
+					if (key != null && hasValues && (value = getChunk(buffer)) == null) {
+						key = null;
+					}
+					if (key == null) {
+						((Buffer) buffer).position(start);
+						break;
+					}
+					records.add(new Record(key, value));
+				}
+				if (!records.isEmpty()) {
+					handler.handle(records);
+					records.clear();
+				}
+				else if (buffer.position() == 0 && buffer.limit() == buffer.capacity()) {
+					// A single record fills the whole buffer, so enlarge the buffer.
+					buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+					((Buffer) buffer).flip();
+				}
+				eof = !fill(channel, buffer, buffer.remaining() + 1);
+			}
+		}
+	}
+
+	/**
+	 * Compacts the given buffer, which is flipped for reading, and reads from the given channel until the buffer holds at
+	 * least {@code needed} bytes or is full, returning {@code false} if the end of the channel was reached before any
+	 * byte was read. The buffer is left flipped for reading.
+	 */
+	private static boolean fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+		buffer.compact();
+		boolean read = false;
+		while (buffer.position() < needed && buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				break;
+			}
+			read = true;
+		}
+		((Buffer) buffer).flip();
+		return read;
+	}
+
+	/**
+	 * Returns a slice of the next length-prefixed chunk in the given buffer and advances past it, or returns
+	 * {@code null} if the buffer does not hold the whole chunk.
+	 */
+	private static ByteBuffer getChunk(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 4) {
+			return null;
+		}
+		int length = buffer.getInt(buffer.position());
+		if (length < 0) {
+			throw new IOException("corrupt cache snapshot");
+		}
+		if (buffer.remaining() - 4 < length) {
+			return null;
+		}
+		ByteBuffer chunk = buffer.duplicate();
+		((Buffer) chunk).position(buffer.position() + 4);
+		((Buffer) chunk).limit(buffer.position() + 4 + length);
+		((Buffer) buffer).position(buffer.position() + 4 + length);
+		return chunk.slice();
+	}
+
+	private static void putChunk(FileChannel channel, ByteBuffer buffer, ByteBuffer chunk) throws IOException {
+		if (buffer.remaining() < 4) {
+			flush(channel, buffer);
+		}
+		buffer.putInt(chunk.remaining());
+		while (chunk.hasRemaining()) {
+			if (!buffer.hasRemaining()) {
+				flush(channel, buffer);
+			}
+			int n = Math.min(chunk.remaining(), buffer.remaining());
+			ByteBuffer part = chunk.duplicate();
+			((Buffer) part).limit(part.position() + n);
+			buffer.put(part);
+			((Buffer) chunk).position(chunk.position() + n);
+		}
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		((Buffer) buffer).flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * An immutable snapshot of the statistics recorded by an {@link AbstractCache}.
+ * 
+ * @author Matt Whitlock
+ * @see AbstractCache#recordStats()
+ */
+public final class CacheStats {
+
+	private final long hitCount, missCount, putCount;
+	private final long[] removalCounts;
+
+	CacheStats(long hitCount, long missCount, long putCount, long[] removalCounts) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+		this.removalCounts = removalCounts;
+	}
+
+	/**
+	 * Returns the number of lookups that found a value.
+	 */
+	public long hitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of lookups that did not find a value, including lookups of mappings whose values had been
+	 * erased.
+	 */
+	public long missCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns the number of lookups.
+	 */
+	public long requestCount() {
+		return hitCount + missCount;
+	}
+
+	/**
+	 * Returns the ratio of hits to lookups, or {@code 1} if there have been no lookups.
+	 */
+	public double hitRate() {
+		long requestCount = requestCount();
+		return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+	}
+
+	/**
+	 * Returns the number of mappings put into the cache, including mappings that replaced other mappings.
+	 */
+	public long putCount() {
+		return putCount;
+	}
+
+	/**
+	 * Returns the number of mappings removed from the cache for the given cause.
+	 */
+	public long removalCount(RemovalCause cause) {
+		return removalCounts[cause.ordinal()];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("hits=").append(hitCount).append(", misses=").append(missCount).append(", puts=").append(putCount);
+		for (RemovalCause cause : RemovalCause.values()) {
+			sb.append(", ").append(cause.name().toLowerCase()).append('=').append(removalCounts[cause.ordinal()]);
+		}
+		return sb.toString();
+	}
+
+}
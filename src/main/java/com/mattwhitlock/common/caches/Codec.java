@@ -0,0 +1,49 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values to and from sequences of bytes, so that they can be stored outside of the Java heap.
+ * 
+ * @author Matt Whitlock
+ * @see OffHeapLongCache
+ * @see CacheSnapshot
+ */
+public interface Codec<V> {
+
+	/**
+	 * A {@link Codec} that encodes a {@link Long} as eight bytes in big-endian order.
+	 */
+	Codec<Long> LONG = new Codec<Long>() {
+
+		@Override
+		public ByteBuffer encode(Long value) {
+			ByteBuffer buffer = ByteBuffer.allocate(8).putLong(value.longValue());
+			((Buffer) buffer).flip();
+			return buffer;
+		}
+
+		@Override
+		public Long decode(ByteBuffer buffer) {
+			return Long.valueOf(buffer.getLong());
+		}
+
+	};
+
+	/**
+	 * Returns a buffer whose remaining bytes are the encoding of the given value. The returned buffer is consumed
+	 * before this codec is next used.
+	 */
+	ByteBuffer encode(V value);
+
+	/**
+	 * Returns the value whose encoding is the remaining bytes of the given buffer. The buffer is valid only for the
+	 * duration of this call.
+	 */
+	V decode(ByteBuffer buffer);
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+import com.mattwhitlock.common.wrappers.MutableReference;
+
+/**
+ * Implements the atomic operations of {@link ConcurrentMap} for caches that are backed by a {@link ConcurrentMap}.
+ * Each operation remaps the backing map atomically and then records the put or notifies the removal that it caused.
+ * <p>
+ * The remapping functions may be applied more than once, as by a {@link java.util.concurrent.ConcurrentSkipListMap},
+ * so each application assigns every result that it reports.
+ * 
+ * @author Matt Whitlock
+ */
+final class ConcurrentCaches {
+
+	private ConcurrentCaches() {
+	}
+
+	/**
+	 * @see ConcurrentMap#putIfAbsent(Object, Object)
+	 */
+	static <K, V, E extends AbstractCache.Entry<K, V>> V putIfAbsent(AbstractCache<K, V, E> cache, K key, V value) {
+		Objects.requireNonNull(value);
+		E entry = cache.newEntry(key, value);
+		MutableReference<V> existing = new MutableReference<>();
+		MutableReference<E> replaced = new MutableReference<>();
+		cache.map.compute(entry, (k, v) -> {
+			if (v != null && (existing.value = v.getValue()) != null) {
+				replaced.value = null;
+				return v;
+			}
+			existing.value = null;
+			replaced.value = v;
+			return entry;
+		});
+		if (existing.value == null) {
+			cache.recordPut();
+			if (replaced.value != null) {
+				cache.removed(replaced.value, cache.cullCause(replaced.value));
+			}
+		}
+		return existing.value;
+	}
+
+	/**
+	 * @see ConcurrentMap#remove(Object, Object)
+	 */
+	static <K, V, E extends AbstractCache.Entry<K, V>> boolean remove(AbstractCache<K, V, E> cache, Object key, Object value) {
+		if (value == null) {
+			return false;
+		}
+		E entry = cache.getEntry(key);
+		if (entry == null) {
+			return false;
+		}
+		MutableReference<E> removed = new MutableReference<>();
+		cache.map.computeIfPresent(entry, (k, v) -> {
+			if (value.equals(v.getValue())) {
+				removed.value = v;
+				return null;
+			}
+			removed.value = null;
+			return v;
+		});
+		if (removed.value == null) {
+			return false;
+		}
+		cache.removed(removed.value, RemovalCause.EXPLICIT);
+		return true;
+	}
+
+	/**
+	 * @see ConcurrentMap#replace(Object, Object)
+	 */
+	static <K, V, E extends AbstractCache.Entry<K, V>> V replace(AbstractCache<K, V, E> cache, K key, V value) {
+		Objects.requireNonNull(value);
+		E entry = cache.newEntry(key, value);
+		MutableReference<V> existing = new MutableReference<>();
+		MutableReference<E> replaced = new MutableReference<>();
+		cache.map.computeIfPresent(entry, (k, v) -> {
+			if ((existing.value = v.getValue()) == null) {
+				replaced.value = null;
+				return v;
+			}
+			replaced.value = v;
+			return entry;
+		});
+		if (replaced.value != null) {
+			cache.recordPut();
+			cache.removed(replaced.value, RemovalCause.REPLACED);
+		}
+		return existing.value;
+	}
+
+	/**
+	 * @see ConcurrentMap#replace(Object, Object, Object)
+	 */
+	static <K, V, E extends AbstractCache.Entry<K, V>> boolean replace(AbstractCache<K, V, E> cache, K key, V oldValue, V newValue) {
+		Objects.requireNonNull(oldValue);
+		Objects.requireNonNull(newValue);
+		E entry = cache.newEntry(key, newValue);
+		MutableReference<E> replaced = new MutableReference<>();
+		cache.map.computeIfPresent(entry, (k, v) -> {
+			if (!oldValue.equals(v.getValue())) {
+				replaced.value = null;
+				return v;
+			}
+			replaced.value = v;
+			return entry;
+		});
+		if (replaced.value == null) {
+			return false;
+		}
+		cache.recordPut();
+		cache.removed(replaced.value, RemovalCause.REPLACED);
+		return true;
+	}
+
+	/**
+	 * Removes every mapping from the given cache, notifying each removal that this thread is the one to make.
+	 */
+	static <K, V, E extends AbstractCache.Entry<K, V>> void clear(AbstractCache<K, V, E> cache) {
+		for (E entry : cache.map.values()) {
+			expunge(cache, entry, RemovalCause.EXPLICIT);
+		}
+	}
+
+	/**
+	 * Removes the given entry only if it is still the entry that is mapped for its key, and if so, notifies it of its
+	 * removal for the given cause.
+	 * 
+	 * @see AbstractCache#expunge(AbstractCache.Entry, RemovalCause)
+	 */
+	static <K, V, E extends AbstractCache.Entry<K, V>> boolean expunge(AbstractCache<K, V, E> cache, E entry, RemovalCause cause) {
+		MutableReference<E> removed = new MutableReference<>();
+		cache.map.computeIfPresent(entry, (k, v) -> {
+			if (v != entry) {
+				removed.value = null;
+				return v;
+			}
+			removed.value = v;
+			return null;
+		});
+		if (removed.value == null) {
+			return false;
+		}
+		cache.removed(entry, cause);
+		return true;
+	}
+
+}
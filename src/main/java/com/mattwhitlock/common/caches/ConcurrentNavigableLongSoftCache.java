@@ -0,0 +1,105 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.SoftReference;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A thread-safe {@link AbstractNavigableLongReferenceCache} whose values are held by instances of
+ * {@link SoftReference}. The cache is backed by a {@link ConcurrentSkipListMap}, so lookups and navigation do not
+ * block, iteration and views are weakly consistent, and erased mappings may be culled by any number of threads
+ * concurrently.
+ * 
+ * @author Matt Whitlock
+ */
+public class ConcurrentNavigableLongSoftCache<V> extends AbstractNavigableLongReferenceCache<V, LongSoftCache.Entry<V>> implements ConcurrentMap<Long, V> {
+
+	public ConcurrentNavigableLongSoftCache() {
+		this(null);
+	}
+
+	/**
+	 * Constructs a {@link ConcurrentNavigableLongSoftCache} whose erased mappings are culled by the given
+	 * {@link ReferenceReaper}.
+	 */
+	public ConcurrentNavigableLongSoftCache(ReferenceReaper reaper) {
+		super(new ConcurrentSkipListMap<>(entryComparator), reaper);
+	}
+
+	@Override
+	protected LongSoftCache.Entry<V> newEntry(long key, V value) {
+		return reaper == null ? new LongSoftCache.Entry<>(key, value, queue) : new LongSoftCache.ReapableEntry<>(key, value, queue, this);
+	}
+
+	@Override
+	public V putIfAbsent(Long key, V value) {
+		return ConcurrentCaches.putIfAbsent(this, key, value);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		return ConcurrentCaches.remove(this, key, value);
+	}
+
+	@Override
+	public V replace(Long key, V value) {
+		return ConcurrentCaches.replace(this, key, value);
+	}
+
+	@Override
+	public boolean replace(Long key, V oldValue, V newValue) {
+		return ConcurrentCaches.replace(this, key, oldValue, newValue);
+	}
+
+	@Override
+	public Map.Entry<Long, V> pollFirstEntry() {
+		return poll(((NavigableMap<LongSoftCache.Entry<V>, LongSoftCache.Entry<V>>) map).values().iterator());
+	}
+
+	@Override
+	public Map.Entry<Long, V> pollLastEntry() {
+		return poll(((NavigableMap<LongSoftCache.Entry<V>, LongSoftCache.Entry<V>>) map).descendingMap().values().iterator());
+	}
+
+	@Override
+	public void clear() {
+		ConcurrentCaches.clear(this);
+	}
+
+	@Override
+	protected boolean expunge(LongSoftCache.Entry<V> entry, RemovalCause cause) {
+		return ConcurrentCaches.expunge(this, entry, cause);
+	}
+
+	/**
+	 * Removes the given entry only if it is still the entry that is mapped for its key, so as not to remove a mapping
+	 * that another thread has put since the iterator returned the entry.
+	 */
+	@Override
+	protected void expunge(Iterator<LongSoftCache.Entry<V>> it, LongSoftCache.Entry<V> entry, RemovalCause cause) {
+		expunge(entry, cause);
+	}
+
+	/**
+	 * Removes and returns the first mapping returned by the given iterator that has a value and that this thread is
+	 * the one to remove, culling erased mappings along the way.
+	 */
+	private Map.Entry<Long, V> poll(Iterator<LongSoftCache.Entry<V>> it) {
+		while (it.hasNext()) {
+			LongSoftCache.Entry<V> entry = it.next();
+			V value = entry.getValue();
+			if (expunge(entry, value == null ? cullCause(entry) : RemovalCause.EXPLICIT) && value != null) {
+				return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value);
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.SoftReference;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A thread-safe {@link AbstractNavigableReferenceCache} whose values are held by instances of {@link SoftReference}.
+ * The cache is backed by a {@link ConcurrentSkipListMap}, so lookups and navigation do not block, iteration and views
+ * are weakly consistent, and erased mappings may be culled by any number of threads concurrently. Keys may not be
+ * {@code null}.
+ * 
+ * @author Matt Whitlock
+ */
+public class ConcurrentNavigableSoftCache<K, V> extends AbstractNavigableReferenceCache<K, V, SoftCache.Entry<K, V>> implements ConcurrentMap<K, V> {
+
+	public ConcurrentNavigableSoftCache() {
+		this(null);
+	}
+
+	public ConcurrentNavigableSoftCache(Comparator<? super K> comparator) {
+		this(comparator, null);
+	}
+
+	/**
+	 * Constructs a {@link ConcurrentNavigableSoftCache} whose erased mappings are culled by the given
+	 * {@link ReferenceReaper}.
+	 */
+	public ConcurrentNavigableSoftCache(Comparator<? super K> comparator, ReferenceReaper reaper) {
+		super(new ConcurrentSkipListMap<>(entryComparator(comparator)), reaper);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> newEntry(K key, V value) {
+		return reaper == null ? new SoftCache.Entry<>(key, value, queue) : new SoftCache.ReapableEntry<>(key, value, queue, this);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> getEntry(Object key) {
+		return getEntryByReusableProbe(key);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> removeEntry(Object key) {
+		return removeEntryByReusableProbe(key);
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return ConcurrentCaches.putIfAbsent(this, key, value);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		return ConcurrentCaches.remove(this, key, value);
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		return ConcurrentCaches.replace(this, key, value);
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		return ConcurrentCaches.replace(this, key, oldValue, newValue);
+	}
+
+	@Override
+	public Map.Entry<K, V> pollFirstEntry() {
+		return poll(((NavigableMap<SoftCache.Entry<K, V>, SoftCache.Entry<K, V>>) map).values().iterator());
+	}
+
+	@Override
+	public Map.Entry<K, V> pollLastEntry() {
+		return poll(((NavigableMap<SoftCache.Entry<K, V>, SoftCache.Entry<K, V>>) map).descendingMap().values().iterator());
+	}
+
+	@Override
+	public void clear() {
+		ConcurrentCaches.clear(this);
+	}
+
+	@Override
+	protected boolean expunge(SoftCache.Entry<K, V> entry, RemovalCause cause) {
+		return ConcurrentCaches.expunge(this, entry, cause);
+	}
+
+	/**
+	 * Removes the given entry only if it is still the entry that is mapped for its key, so as not to remove a mapping
+	 * that another thread has put since the iterator returned the entry.
+	 */
+	@Override
+	protected void expunge(Iterator<SoftCache.Entry<K, V>> it, SoftCache.Entry<K, V> entry, RemovalCause cause) {
+		expunge(entry, cause);
+	}
+
+	/**
+	 * Removes and returns the first mapping returned by the given iterator that has a value and that this thread is
+	 * the one to remove, culling erased mappings along the way.
+	 */
+	private Map.Entry<K, V> poll(Iterator<SoftCache.Entry<K, V>> it) {
+		while (it.hasNext()) {
+			SoftCache.Entry<K, V> entry = it.next();
+			V value = entry.getValue();
+			if (expunge(entry, value == null ? cullCause(entry) : RemovalCause.EXPLICIT) && value != null) {
+				return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), value);
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe {@link AbstractReferenceCache} whose values are held by instances of {@link SoftReference}. The cache
+ * is backed by a {@link ConcurrentHashMap}, so lookups do not block, and erased mappings may be culled by any number
+ * of threads concurrently. Lookups search the map with a probe that each thread reuses, so they allocate nothing. Keys
+ * may not be {@code null}.
+ * 
+ * @author Matt Whitlock
+ */
+public class ConcurrentSoftCache<K, V> extends AbstractReferenceCache<K, V, SoftCache.Entry<K, V>> implements ConcurrentMap<K, V> {
+
+	/**
+	 * The loads in progress in {@link #get(Object, Function)}.
+	 */
+	private final ConcurrentHashMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+
+	public ConcurrentSoftCache() {
+		super(new ConcurrentHashMap<>());
+	}
+
+	public ConcurrentSoftCache(int initialCapacity) {
+		super(new ConcurrentHashMap<>(initialCapacity));
+	}
+
+	/**
+	 * Constructs a {@link ConcurrentSoftCache} whose erased mappings are culled by the given {@link ReferenceReaper}.
+	 */
+	public ConcurrentSoftCache(ReferenceReaper reaper) {
+		super(new ConcurrentHashMap<>(), reaper);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> newEntry(K key, V value) {
+		return reaper == null ? new SoftCache.Entry<>(key, value, queue) : new SoftCache.ReapableEntry<>(key, value, queue, this);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> getEntry(Object key) {
+		return getEntryByReusableProbe(key);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> removeEntry(Object key) {
+		return removeEntryByReusableProbe(key);
+	}
+
+	/**
+	 * Returns the value to which the given key is mapped, or if there is no such value, loads it. At most one thread at
+	 * a time runs the loader for a given key. Any other threads that request the same key meanwhile wait for that load
+	 * to finish and then return its value, or throw its exception. The loader must not request the key it is loading
+	 * from this cache.
+	 */
+	@Override
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if (value != null) {
+			return value;
+		}
+		CompletableFuture<V> load = new CompletableFuture<>(), existing = loads.putIfAbsent(key, load);
+		if (existing != null) {
+			try {
+				return existing.join();
+			}
+			catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+		try {
+			// Another thread may have finished loading the key since it was looked up, but that lookup was already
+			// recorded as a miss, so look again without recording.
+			SoftCache.Entry<K, V> entry = getEntry(key);
+			if (entry == null || (value = entry.getValue()) == null) {
+				Object event = CacheEvents.beginLoad();
+				try {
+					value = loader.apply(key);
+				}
+				catch (RuntimeException | Error e) {
+					CacheEvents.endLoad(event, this, false);
+					throw e;
+				}
+				CacheEvents.endLoad(event, this, value != null);
+				if (value != null) {
+					put(key, value);
+				}
+			}
+			load.complete(value);
+			return value;
+		}
+		catch (RuntimeException | Error e) {
+			load.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			loads.remove(key, load);
+		}
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return ConcurrentCaches.putIfAbsent(this, key, value);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		return ConcurrentCaches.remove(this, key, value);
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		return ConcurrentCaches.replace(this, key, value);
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		return ConcurrentCaches.replace(this, key, oldValue, newValue);
+	}
+
+	@Override
+	public void clear() {
+		ConcurrentCaches.clear(this);
+	}
+
+	@Override
+	protected boolean expunge(SoftCache.Entry<K, V> entry, RemovalCause cause) {
+		return ConcurrentCaches.expunge(this, entry, cause);
+	}
+
+	/**
+	 * Removes the given entry only if it is still the entry that is mapped for its key, so as not to remove a mapping
+	 * that another thread has put since the iterator returned the entry.
+	 */
+	@Override
+	protected void expunge(Iterator<SoftCache.Entry<K, V>> it, SoftCache.Entry<K, V> entry, RemovalCause cause) {
+		expunge(entry, cause);
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * A position in a traversal of the live mappings of a cache. Unlike an iterator over the cache's entry set, a cursor
+ * exposes the key and value of the current mapping directly rather than allocating a {@link java.util.Map.Entry} for
+ * each mapping. Mappings whose values have been cleared are skipped.
+ * 
+ * @author Matt Whitlock
+ * @see AbstractCache#cursor()
+ */
+public interface Cursor<K, V> {
+
+	/**
+	 * Advances this cursor to the next live mapping, returning {@code false} if there are no more mappings.
+	 */
+	boolean advance();
+
+	/**
+	 * Returns the key of the current mapping.
+	 * 
+	 * @throws IllegalStateException if {@link #advance()} has not returned {@code true} since this cursor was created
+	 * or since the current mapping was removed.
+	 */
+	K key();
+
+	/**
+	 * Returns the value of the current mapping. The value is held strongly by this cursor, so it cannot be cleared
+	 * while the cursor is positioned at its mapping.
+	 * 
+	 * @throws IllegalStateException if {@link #advance()} has not returned {@code true} since this cursor was created
+	 * or since the current mapping was removed.
+	 */
+	V value();
+
+	/**
+	 * Removes the current mapping from the cache.
+	 * 
+	 * @throws IllegalStateException if {@link #advance()} has not returned {@code true} since this cursor was created
+	 * or since the current mapping was removed.
+	 */
+	void remove();
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.Objects;
+
+/**
+ * An open-addressing hash table of {@link AbstractCache.Entry} objects that can be searched directly by key, without
+ * constructing a probe entry. The hashes of the keys are stored in an {@code int} array parallel to the array of
+ * entries, so that probing a slot dereferences only those entries whose hashes match.
+ * 
+ * @author Matt Whitlock
+ */
+final class EntryHashMap<K, E extends AbstractCache.Entry<K, ?>> extends AbstractEntryHashMap<E> {
+
+	int[] hashes;
+
+	EntryHashMap() {
+		super(0);
+		hashes = new int[table.length];
+	}
+
+	static int hash(Object key) {
+		int h = Objects.hashCode(key) * 0x9E3779B9;
+		return h ^ h >>> 16;
+	}
+
+	/**
+	 * Returns the index of the slot holding the entry with the given key, or {@code -1} if there is no such entry.
+	 */
+	@SuppressWarnings("unchecked")
+	private int indexOf(Object key, int hash) {
+		Object[] table = this.table;
+		int mask = table.length - 1;
+		for (int i = hash & mask;; i = i + 1 & mask) {
+			Object o = table[i];
+			if (o == null) {
+				return -1;
+			}
+			if (o != TOMBSTONE && hashes[i] == hash && Objects.equals(((E) o).getKey(), key)) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the entry with the given key, or {@code null} if there is no such entry.
+	 */
+	@SuppressWarnings("unchecked")
+	E getEntry(Object key) {
+		int i = indexOf(key, hash(key));
+		return i < 0 ? null : (E) table[i];
+	}
+
+	/**
+	 * Removes and returns the entry with the given key, or returns {@code null} if there is no such entry.
+	 */
+	E removeEntry(Object key) {
+		int i = indexOf(key, hash(key));
+		return i < 0 ? null : removeAt(i);
+	}
+
+	/**
+	 * Inserts the given entry, replacing and returning any entry having an equal key.
+	 *
+	 * @throws IllegalStateException if the table is at its maximum capacity and cannot hold another entry.
+	 */
+	@SuppressWarnings("unchecked")
+	E putEntry(E entry) {
+		K key = entry.getKey();
+		int hash = hash(key), mask = table.length - 1, free = -1;
+		for (int i = hash & mask;; i = i + 1 & mask) {
+			Object o = table[i];
+			if (o == null) {
+				if (free < 0) {
+					if (isFull()) {
+						resize();
+						return putEntry(entry);
+					}
+					free = i;
+					++used;
+				}
+				break;
+			}
+			if (o == TOMBSTONE) {
+				if (free < 0) {
+					free = i;
+				}
+			}
+			else if (hashes[i] == hash && Objects.equals(((E) o).getKey(), key)) {
+				table[i] = entry;
+				return (E) o;
+			}
+		}
+		table[free] = entry;
+		hashes[free] = hash;
+		++size;
+		++modCount;
+		return null;
+	}
+
+	@Override
+	void rehash(Object[] oldTable) {
+		int[] oldHashes = hashes;
+		Object[] table = this.table;
+		int[] hashes = this.hashes = new int[table.length];
+		int mask = table.length - 1;
+		for (int j = 0; j < oldTable.length; ++j) {
+			Object o = oldTable[j];
+			if (o != null && o != TOMBSTONE) {
+				int hash = oldHashes[j], i = hash & mask;
+				while (table[i] != null) {
+					i = i + 1 & mask;
+				}
+				table[i] = o;
+				hashes[i] = hash;
+			}
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof AbstractCache.Entry<?, ?> && getEntry(((AbstractCache.Entry<?, ?>) key).getKey()) != null;
+	}
+
+	@Override
+	public E get(Object key) {
+		return key instanceof AbstractCache.Entry<?, ?> ? getEntry(((AbstractCache.Entry<?, ?>) key).getKey()) : null;
+	}
+
+	@Override
+	public E put(E key, E value) {
+		return putEntry(value);
+	}
+
+	@Override
+	public E remove(Object key) {
+		return key instanceof AbstractCache.Entry<?, ?> ? removeEntry(((AbstractCache.Entry<?, ?>) key).getKey()) : null;
+	}
+
+}
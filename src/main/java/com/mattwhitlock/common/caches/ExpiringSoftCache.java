@@ -0,0 +1,479 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * An {@link AbstractReferenceCache} whose values are held by instances of {@link SoftReference} and whose mappings
+ * expire a fixed duration after they are put or after they are last accessed. An expired mapping is never returned,
+ * even if the garbage collector has not erased its value.
+ * <p>
+ * Expired mappings are culled by a {@link TimingWheel}, which is advanced whenever {@link #processQueue()} is called,
+ * so the cost of expiration stays constant per mapping no matter how many mappings the cache holds.
+ * <p>
+ * A cache constructed with a loader also refreshes its mappings ahead of expiration: once a mapping is older than the
+ * refresh age, the first lookup that finds it submits a reload of its value to an {@link Executor} and returns the old
+ * value without waiting. When the reload completes, its value replaces the old one, unless the mapping was removed or
+ * replaced in the meantime; if the reload fails or returns {@code null}, the old value is kept, and a later lookup will
+ * try again. Frequently used keys thus never expire, and only a miss ever waits for the loader. A completed reload
+ * does not touch the cache from the executor's thread; it is handed back to the cache and applied by the next call of
+ * {@link #processQueue()}, so refreshing imposes no locking beyond what the cache's own use requires.
+ * <p>
+ * This cache can also remember that keys are absent, so that repeated lookups of a nonexistent key need not each go
+ * to the source of the values. Once {@linkplain #setAbsenceDuration(long, TimeUnit) enabled}, a key for which a loader
+ * returns {@code null} is remembered as absent for a fixed duration of its own, during which the loader is not invoked
+ * for the key again. Absent keys are kept apart from the mappings, in a table of small, strongly held records, so they
+ * are neither counted by {@link #size()} nor erased by the garbage collector, and they cost far less memory than
+ * mappings. Putting a mapping for a key or removing a key forgets that the key is absent.
+ * 
+ * @author Matt Whitlock
+ */
+public class ExpiringSoftCache<K, V> extends AbstractReferenceCache<K, V, ExpiringSoftCache.Entry<K, V>> {
+
+	/**
+	 * The event from which the lifetime of a mapping is measured.
+	 */
+	public enum Policy {
+
+		/**
+		 * A mapping expires a fixed duration after it was put.
+		 */
+		AFTER_WRITE,
+
+		/**
+		 * A mapping expires a fixed duration after it was put or its value was last retrieved by {@link #get(Object)}.
+		 */
+		AFTER_ACCESS
+
+	}
+
+	public static class Entry<K, V> extends SoftCache.Entry<K, V> {
+
+		protected final ExpiringSoftCache<K, V> cache;
+
+		/**
+		 * The time, in nanoseconds, at which this entry expires.
+		 */
+		long expiresAt;
+
+		/**
+		 * The time, in nanoseconds, at which this entry was put.
+		 */
+		long writtenAt;
+
+		/**
+		 * Whether a reload of this entry's value has been submitted and has not yet been applied.
+		 */
+		boolean refreshing;
+
+		/**
+		 * The value returned by the reload of this entry, or {@code null} if the reload failed or returned
+		 * {@code null}. Written by the reloading thread before this entry is added to {@link ExpiringSoftCache#reloaded}.
+		 */
+		V reloadedValue;
+
+		/**
+		 * The neighbors of this entry in its bucket of the {@link TimingWheel}, or {@code null} if this entry is not
+		 * scheduled.
+		 */
+		Entry<K, V> prev, next;
+
+		protected Entry(K key, V value, ReferenceQueue<? super V> queue, ExpiringSoftCache<K, V> cache) {
+			super(key, value, queue);
+			this.cache = cache;
+		}
+
+		@Override
+		public V getValue() {
+			return expiresAt - cache.now() > 0 ? get() : null;
+		}
+
+	}
+
+	/**
+	 * A record that a key is absent.
+	 */
+	static final class Absence<K, V> extends AbstractCache.Entry.Probe<K, V> {
+
+		/**
+		 * The time, in nanoseconds, at which this record expires.
+		 */
+		long expiresAt;
+
+		/**
+		 * The neighbors of this record in the list of absences.
+		 */
+		Absence<K, V> prev, next;
+
+		Absence(K key) {
+			super(key);
+		}
+
+	}
+
+	private final EntryHashMap<K, Entry<K, V>> table;
+
+	private final TimingWheel<K, V> wheel;
+
+	private final Policy policy;
+
+	private final long duration;
+
+	private final long refreshAfter;
+
+	private final Function<? super K, ? extends V> loader;
+
+	private final Executor executor;
+
+	/**
+	 * The entries whose reloads have completed but have not yet been applied by {@link #processQueue()}.
+	 */
+	private final Queue<Entry<K, V>> reloaded = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The absent keys, or {@code null} if absences are not being remembered.
+	 */
+	private EntryHashMap<K, Absence<K, V>> absences;
+
+	/**
+	 * The sentinel of the circular list of absences, ordered from first to last recorded, which is the order in which
+	 * they expire unless the absence duration has been shortened.
+	 */
+	private final Absence<K, V> absencesHead = new Absence<>(null);
+
+	private long absenceDuration;
+
+	/**
+	 * Constructs an {@link ExpiringSoftCache} whose mappings expire the given duration after the event specified by the
+	 * given {@link Policy}.
+	 */
+	public ExpiringSoftCache(Policy policy, long duration, TimeUnit unit) {
+		this(new EntryHashMap<>(), policy, unit.toNanos(duration), 0, null, null);
+	}
+
+	/**
+	 * Constructs an {@link ExpiringSoftCache} whose mappings expire the given duration after the event specified by the
+	 * given {@link Policy} and are reloaded by the given loader on the given {@link Executor} when they are looked up
+	 * more than {@code refreshAfter} after they were put.
+	 */
+	public ExpiringSoftCache(Policy policy, long duration, long refreshAfter, TimeUnit unit, Function<? super K, ? extends V> loader, Executor executor) {
+		this(new EntryHashMap<>(), policy, unit.toNanos(duration), unit.toNanos(refreshAfter), Objects.requireNonNull(loader), Objects.requireNonNull(executor));
+		if (refreshAfter <= 0) {
+			throw new IllegalArgumentException("refreshAfter must be positive");
+		}
+	}
+
+	private ExpiringSoftCache(EntryHashMap<K, Entry<K, V>> table, Policy policy, long duration, long refreshAfter, Function<? super K, ? extends V> loader, Executor executor) {
+		super(table);
+		if (duration <= 0) {
+			throw new IllegalArgumentException("duration must be positive");
+		}
+		this.table = table;
+		this.policy = policy;
+		this.duration = duration;
+		this.refreshAfter = refreshAfter;
+		this.loader = loader;
+		this.executor = executor;
+		absencesHead.prev = absencesHead.next = absencesHead;
+		wheel = new TimingWheel<>(now(), entry -> expunge(entry, RemovalCause.EXPIRED));
+	}
+
+	/**
+	 * Returns the current time in nanoseconds. This implementation returns {@link System#nanoTime()}.
+	 */
+	protected long now() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Sets the duration for which this cache remembers that a key is absent, applying to keys subsequently found absent,
+	 * or if the duration is zero, forgets all absent keys and stops remembering them. Absences are not remembered by
+	 * default.
+	 */
+	public void setAbsenceDuration(long duration, TimeUnit unit) {
+		if (duration < 0) {
+			throw new IllegalArgumentException("duration must not be negative");
+		}
+		if ((absenceDuration = unit.toNanos(duration)) == 0) {
+			absences = null;
+			absencesHead.prev = absencesHead.next = absencesHead;
+		}
+		else if (absences == null) {
+			absences = new EntryHashMap<>();
+		}
+	}
+
+	/**
+	 * Removes the mapping of the given key, if any, and remembers that the key is absent.
+	 *
+	 * @throws IllegalStateException if absences are not being remembered.
+	 */
+	public void markAbsent(K key) {
+		if (absences == null) {
+			throw new IllegalStateException("absences are not being remembered");
+		}
+		processQueue();
+		remove(key);
+		Absence<K, V> absence = new Absence<>(key);
+		absence.expiresAt = now() + absenceDuration;
+		absences.putEntry(absence);
+		absence.prev = absencesHead.prev;
+		absence.next = absencesHead;
+		absencesHead.prev.next = absence;
+		absencesHead.prev = absence;
+	}
+
+	/**
+	 * Returns whether this cache remembers that the given key is absent.
+	 */
+	public boolean isAbsent(Object key) {
+		Absence<K, V> absence;
+		return absences != null && (absence = absences.getEntry(key)) != null && absence.expiresAt - now() > 0;
+	}
+
+	private void forgetAbsence(Object key) {
+		Absence<K, V> absence;
+		if (absences != null && (absence = absences.removeEntry(key)) != null) {
+			absence.prev.next = absence.next;
+			absence.next.prev = absence.prev;
+		}
+	}
+
+	/**
+	 * Constructs a new {@link Entry}, schedules its expiration, and forgets that its key is absent.
+	 */
+	@Override
+	protected Entry<K, V> newEntry(K key, V value) {
+		forgetAbsence(key);
+		Entry<K, V> entry = new Entry<>(key, value, queue, this);
+		entry.writtenAt = now();
+		entry.expiresAt = entry.writtenAt + duration;
+		wheel.schedule(entry);
+		return entry;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		processQueue();
+		return super.put(key, value);
+	}
+
+	@Override
+	protected V lookup(Object key) {
+		Entry<K, V> entry = table.getEntry(key);
+		if (entry == null) {
+			return recordLookup(null);
+		}
+		long now = now();
+		if (entry.expiresAt - now <= 0) {
+			expunge(entry, RemovalCause.EXPIRED);
+			return recordLookup(null);
+		}
+		V value = entry.get();
+		if (value != null) {
+			if (policy == Policy.AFTER_ACCESS) {
+				entry.expiresAt = now + duration;
+				wheel.reschedule(entry);
+			}
+			if (loader != null && !entry.refreshing && now - entry.writtenAt >= refreshAfter) {
+				refresh(entry);
+			}
+		}
+		return recordLookup(value);
+	}
+
+	/**
+	 * Returns the value to which the given key is mapped, or if there is no such value and the key is not remembered as
+	 * absent, computes a value using the given loader, as {@link AbstractCache#get(Object, Function)} does. If the loader
+	 * returns {@code null} and absences are being remembered, then the key is remembered as absent.
+	 */
+	@Override
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if (value == null && !isAbsent(key)) {
+			Object event = CacheEvents.beginLoad();
+			try {
+				value = loader.apply(key);
+			}
+			catch (RuntimeException | Error e) {
+				CacheEvents.endLoad(event, this, false);
+				throw e;
+			}
+			CacheEvents.endLoad(event, this, value != null);
+			if (value != null) {
+				put(key, value);
+			}
+			else if (absences != null) {
+				markAbsent(key);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the values to which the given keys are mapped, loading the values of the keys that are neither mapped nor
+	 * remembered as absent, as {@link AbstractCache#getAll(Iterable, Function)} does. If absences are being remembered,
+	 * then the keys whose values the loader does not return are remembered as absent.
+	 */
+	@Override
+	public Map<K, V> getAll(Iterable<? extends K> keys, Function<? super List<K>, ? extends Map<? extends K, ? extends V>> loader) {
+		if (absences == null) {
+			return super.getAll(keys, loader);
+		}
+		return super.getAll(keys, misses -> {
+			List<K> unknown = new ArrayList<>(misses.size());
+			for (K key : misses) {
+				if (!isAbsent(key)) {
+					unknown.add(key);
+				}
+			}
+			Map<? extends K, ? extends V> loaded = unknown.isEmpty() ? Collections.emptyMap() : loader.apply(unknown);
+			for (K key : unknown) {
+				if (loaded.get(key) == null) {
+					markAbsent(key);
+				}
+			}
+			return loaded;
+		});
+	}
+
+	/**
+	 * Returns the value to which the given key is mapped, loading it with this cache's loader and putting it into this
+	 * cache if it is not cached.
+	 *
+	 * @throws IllegalStateException if this cache was constructed without a loader.
+	 */
+	public V load(K key) {
+		if (loader == null) {
+			throw new IllegalStateException("cache has no loader");
+		}
+		return get(key, loader);
+	}
+
+	/**
+	 * Submits a reload of the given entry's value to this cache's {@link Executor}. The reload hands its result back
+	 * through {@link #reloaded}, whatever the outcome, so that {@link #processQueue()} can apply it on the cache's own
+	 * terms. If the executor rejects the reload, or if the loader throws, then the exception is reported to the uncaught
+	 * exception handler of the thread on which it was thrown, and the old value is kept.
+	 */
+	private void refresh(Entry<K, V> entry) {
+		entry.refreshing = true;
+		K key = entry.getKey();
+		try {
+			executor.execute(() -> {
+				V value = null;
+				try {
+					Object event = CacheEvents.beginLoad();
+					try {
+						value = loader.apply(key);
+					}
+					catch (RuntimeException | Error e) {
+						CacheEvents.endLoad(event, this, false);
+						throw e;
+					}
+					CacheEvents.endLoad(event, this, value != null);
+				}
+				catch (Throwable t) {
+					Thread thread = Thread.currentThread();
+					thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+				}
+				finally {
+					entry.reloadedValue = value;
+					reloaded.add(entry);
+				}
+			});
+		}
+		catch (RuntimeException e) {
+			entry.refreshing = false;
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		}
+	}
+
+	@Override
+	protected Entry<K, V> getEntry(Object key) {
+		return table.getEntry(key);
+	}
+
+	/**
+	 * Removes the entry for the given key and forgets that the key is absent.
+	 */
+	@Override
+	protected Entry<K, V> removeEntry(Object key) {
+		forgetAbsence(key);
+		return table.removeEntry(key);
+	}
+
+	/**
+	 * Removes all of the mappings from this cache and forgets all absent keys.
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		if (absences != null) {
+			absences.clear();
+			absencesHead.prev = absencesHead.next = absencesHead;
+		}
+	}
+
+	@Override
+	protected void removed(AbstractCache.Entry<K, V> entry, RemovalCause cause) {
+		Entry<K, V> e = (Entry<K, V>) entry;
+		if (e.next != null) {
+			wheel.unlink(e);
+		}
+		super.removed(entry, cause);
+	}
+
+	/**
+	 * Reports an entry that has expired as {@link RemovalCause#EXPIRED}, even if its value has also been erased.
+	 */
+	@Override
+	protected RemovalCause cullCause(Entry<K, V> entry) {
+		return entry.expiresAt - now() <= 0 ? RemovalCause.EXPIRED : RemovalCause.COLLECTED;
+	}
+
+	/**
+	 * Returns the value of the given entry even if the entry has expired.
+	 */
+	@Override
+	protected V removedValue(AbstractCache.Entry<K, V> entry) {
+		return ((Entry<K, V>) entry).get();
+	}
+
+	/**
+	 * Applies completed reloads, and culls erased entries, expired entries, and expired absences from this cache. A
+	 * reloaded value replaces the old one only if the entry that was reloaded is still mapped for its key.
+	 */
+	@Override
+	protected void processQueue() {
+		for (Entry<K, V> entry; (entry = reloaded.poll()) != null;) {
+			V value = entry.reloadedValue;
+			entry.reloadedValue = null;
+			entry.refreshing = false;
+			if (value != null && table.getEntry(entry.getKey()) == entry) {
+				super.put(entry.getKey(), value);
+			}
+		}
+		super.processQueue();
+		long now = now();
+		wheel.advance(now);
+		for (Absence<K, V> absence; (absence = absencesHead.next) != absencesHead && absence.expiresAt - now <= 0;) {
+			forgetAbsence(absence.getKey());
+		}
+	}
+
+}
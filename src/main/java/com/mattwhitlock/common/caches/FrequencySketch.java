@@ -0,0 +1,81 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * A count-min sketch that estimates how often keys have been accessed, using four 4-bit counters per key. When the
+ * number of recorded accesses reaches ten times the capacity of the sketch, all counters are halved, so that the
+ * estimates favor recent history.
+ * 
+ * @author Matt Whitlock
+ */
+final class FrequencySketch {
+
+	private static final long[] seeds = { 0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L };
+
+	private static final long resetMask = 0x7777777777777777L;
+
+	private final long[] table;
+	private final int sampleSize;
+	private int additions;
+
+	/**
+	 * Constructs a {@link FrequencySketch} suitable for a cache holding at most {@code capacity} mappings.
+	 */
+	FrequencySketch(long capacity) {
+		int length = 1;
+		while (length < capacity && length < 1 << 30) {
+			length <<= 1;
+		}
+		table = new long[length];
+		sampleSize = (int) Math.min(capacity * 10, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the estimated number of recorded accesses to the key having the given hash code, up to 15.
+	 */
+	int frequency(int hash) {
+		int frequency = 15;
+		for (int i = 0; i < seeds.length; ++i) {
+			long h = mix(hash, i);
+			frequency = Math.min(frequency, (int) (table[index(h)] >>> shift(h)) & 15);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Records an access to the key having the given hash code.
+	 */
+	void increment(int hash) {
+		boolean added = false;
+		for (int i = 0; i < seeds.length; ++i) {
+			long h = mix(hash, i);
+			int index = index(h), shift = shift(h);
+			if ((table[index] >>> shift & 15) != 15) {
+				table[index] += 1L << shift;
+				added = true;
+			}
+		}
+		if (added && ++additions >= sampleSize) {
+			for (int i = 0; i < table.length; ++i) {
+				table[i] = table[i] >>> 1 & resetMask;
+			}
+			additions >>>= 1;
+		}
+	}
+
+	private static long mix(int hash, int i) {
+		long h = (hash + seeds[i]) * seeds[i];
+		return h ^ h >>> 32;
+	}
+
+	private int index(long h) {
+		return (int) h & table.length - 1;
+	}
+
+	private static int shift(long h) {
+		return ((int) (h >>> 40) & 15) << 2;
+	}
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AbstractCache} that holds its values strongly and sheds its least recently used mappings as the heap fills
+ * up, as reported by a {@link HeapPressureMonitor}. Whereas the garbage collector tends to clear the values of a
+ * {@link SoftCache} all at once, according to heuristics such as {@code -XX:SoftRefLRUPolicyMSPerMB}, this cache
+ * shrinks gradually and predictably: each time a garbage collection leaves the heap occupied above the monitor's
+ * threshold, the cache sheds a fraction of its mappings that grows with the occupancy.
+ * <p>
+ * The monitor does not shed mappings itself; it records the fraction to shed, and this cache sheds that fraction the
+ * next time {@link #processQueue()} is called, at the start of a lookup or a put. Like any other cache that is not
+ * inherently thread-safe, this cache must be guarded externally if it is accessed by more than one thread.
+ *
+ * @author Matt Whitlock
+ */
+public class HeapPressureCache<K, V> extends AbstractCache<K, V, HeapPressureCache.Entry<K, V>> {
+
+	public static class Entry<K, V> implements AbstractCache.Entry<K, V> {
+
+		protected final K key;
+
+		protected V value;
+
+		/**
+		 * The neighbors of this entry in the cache's recency list.
+		 */
+		Entry<K, V> prev, next;
+
+		protected Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public void removedFrom(AbstractCache<K, V, ?> cache) {
+			value = null;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return AbstractCache.Entry.equals(this, obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return AbstractCache.Entry.hashCode(this);
+		}
+
+		@Override
+		public String toString() {
+			return AbstractCache.Entry.toString(this);
+		}
+
+	}
+
+	private final EntryHashMap<K, Entry<K, V>> table;
+
+	/**
+	 * The sentinel of the circular recency list, ordered from most to least recently used.
+	 */
+	private final Entry<K, V> head = new Entry<>(null, null);
+
+	/**
+	 * The greatest fraction requested by the monitor since this cache was last shed, as the bits of a non-negative
+	 * {@code double}, whose ordering as {@code long}s matches their ordering as {@code double}s.
+	 */
+	private final AtomicLong pendingShed = new AtomicLong();
+
+	/**
+	 * Constructs a {@link HeapPressureCache} that is shed by the {@linkplain HeapPressureMonitor#shared() shared}
+	 * {@link HeapPressureMonitor}.
+	 */
+	public HeapPressureCache() {
+		this(HeapPressureMonitor.shared());
+	}
+
+	/**
+	 * Constructs a {@link HeapPressureCache} that is shed by the given {@link HeapPressureMonitor}, or only by explicit
+	 * calls of {@link #shed(double)} if the given monitor is {@code null}.
+	 */
+	public HeapPressureCache(HeapPressureMonitor monitor) {
+		this(new EntryHashMap<>(), monitor);
+	}
+
+	private HeapPressureCache(EntryHashMap<K, Entry<K, V>> table, HeapPressureMonitor monitor) {
+		super(table);
+		this.table = table;
+		head.prev = head.next = head;
+		if (monitor != null) {
+			monitor.register(this);
+		}
+	}
+
+	@Override
+	protected Entry<K, V> newEntry(K key, V value) {
+		return new Entry<>(key, value);
+	}
+
+	@Override
+	protected V lookup(Object key) {
+		Entry<K, V> entry = table.getEntry(key);
+		if (entry == null) {
+			return recordLookup(null);
+		}
+		if (head.next != entry) {
+			unlink(entry);
+			link(entry);
+		}
+		return recordLookup(entry.value);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		processQueue();
+		Objects.requireNonNull(value);
+		Entry<K, V> entry = newEntry(key, value), replaced = table.putEntry(entry);
+		recordPut();
+		V replacedValue = null;
+		if (replaced != null) {
+			replacedValue = replaced.value;
+			removed(replaced, RemovalCause.REPLACED);
+		}
+		link(entry);
+		return replacedValue;
+	}
+
+	/**
+	 * Returns the keys of the most recently used mappings, most recently used first.
+	 */
+	@Override
+	public List<K> hottestKeys(int limit) {
+		List<K> keys = new ArrayList<>(Math.min(limit, table.size()));
+		for (Entry<K, V> entry = head.next; entry != head && keys.size() < limit; entry = entry.next) {
+			keys.add(entry.key);
+		}
+		return keys;
+	}
+
+	@Override
+	protected Entry<K, V> getEntry(Object key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<K, V> removeEntry(Object key) {
+		return table.removeEntry(key);
+	}
+
+	@Override
+	protected void removed(AbstractCache.Entry<K, V> entry, RemovalCause cause) {
+		Entry<K, V> e = (Entry<K, V>) entry;
+		if (e.next != null) {
+			unlink(e);
+		}
+		super.removed(entry, cause);
+	}
+
+	/**
+	 * Sheds the fraction most recently requested by the monitor, if any.
+	 */
+	@Override
+	protected void processQueue() {
+		if (pendingShed.get() != 0) {
+			shed(Double.longBitsToDouble(pendingShed.getAndSet(0)));
+		}
+	}
+
+	/**
+	 * Records that the monitor has asked this cache to shed the given fraction of its mappings. May be called from any
+	 * thread.
+	 */
+	void requestShed(double fraction) {
+		pendingShed.accumulateAndGet(Double.doubleToLongBits(fraction), Math::max);
+	}
+
+	/**
+	 * Evicts the given fraction of this cache's mappings, rounded up, least recently used first.
+	 */
+	public void shed(double fraction) {
+		for (int n = (int) Math.ceil(table.size() * Math.min(fraction, 1)); n > 0 && head.prev != head; --n) {
+			expunge(head.prev, RemovalCause.EVICTED);
+		}
+	}
+
+	private void link(Entry<K, V> entry) {
+		entry.prev = head;
+		entry.next = head.next;
+		head.next.prev = entry;
+		head.next = entry;
+	}
+
+	private void unlink(Entry<K, V> entry) {
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+		entry.prev = entry.next = null;
+	}
+
+}
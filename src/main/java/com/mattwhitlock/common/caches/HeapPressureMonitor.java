@@ -0,0 +1,159 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * A listener that asks {@link HeapPressureCache} instances to shed mappings as the heap fills up. A cache is registered
+ * with the monitor by passing the monitor to the cache's constructor, and it is unregistered automatically once it
+ * becomes unreachable.
+ * <p>
+ * The monitor sets the collection usage threshold of every heap memory pool that supports one to the given fraction of
+ * the pool's maximum size. Whenever a garbage collection leaves a pool occupied above its threshold, the monitor asks
+ * each of its caches to shed a fraction of its mappings, which rises linearly from zero at the threshold to one when
+ * the pool is full. Since the thresholds are properties of the JVM's memory pools, there is only one monitor, the
+ * {@linkplain #shared() shared} one. Starting it overwrites any collection usage thresholds that other code has set on
+ * the heap memory pools through {@link MemoryPoolMXBean#setCollectionUsageThreshold(long)}, and other code that sets
+ * them afterward changes when the monitor sheds mappings.
+ * <p>
+ * The monitor never touches a cache itself. It merely records the requested fraction in each cache, and each cache
+ * sheds mappings the next time it is accessed, on the thread that accesses it, so a cache needs no more
+ * synchronization than it would without the monitor.
+ *
+ * @author Matt Whitlock
+ */
+public final class HeapPressureMonitor {
+
+	/**
+	 * The system property that gives the threshold of the shared monitor when it is started by {@link #shared()}.
+	 */
+	public static final String THRESHOLD_PROPERTY = "com.mattwhitlock.common.caches.HeapPressureMonitor.threshold";
+
+	private static HeapPressureMonitor shared;
+
+	private final double threshold;
+
+	/**
+	 * The registered caches. Guarded by this monitor.
+	 */
+	private final Set<WeakReference<HeapPressureCache<?, ?>>> caches = new HashSet<>();
+
+	/**
+	 * The queue with which the references in {@link #caches} are registered, so that the references to unreachable
+	 * caches can be removed without scanning.
+	 */
+	private final ReferenceQueue<HeapPressureCache<?, ?>> queue = new ReferenceQueue<>();
+
+	/**
+	 * Constructs a {@link HeapPressureMonitor} that begins shedding mappings when a garbage collection leaves a heap
+	 * memory pool more than {@code threshold} full.
+	 */
+	private HeapPressureMonitor(double threshold) {
+		this.threshold = threshold;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			long max;
+			if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported() && (max = pool.getUsage().getMax()) > 0) {
+				pool.setCollectionUsageThreshold((long) (max * threshold));
+			}
+		}
+		((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this::handleNotification, notification -> MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType()), null);
+	}
+
+	/**
+	 * Returns the shared {@link HeapPressureMonitor}, starting it if it has not yet been started. It is started with the
+	 * threshold given by the {@value #THRESHOLD_PROPERTY} system property, or else it begins shedding mappings when the
+	 * heap is three quarters full.
+	 *
+	 * @throws IllegalArgumentException if the monitor is not yet started and the system property is not a number
+	 *             between 0 and 1, exclusive.
+	 */
+	public static synchronized HeapPressureMonitor shared() {
+		if (shared == null) {
+			String property = System.getProperty(THRESHOLD_PROPERTY);
+			shared = new HeapPressureMonitor(checkThreshold(property == null ? 0.75 : Double.parseDouble(property)));
+		}
+		return shared;
+	}
+
+	/**
+	 * Returns the shared {@link HeapPressureMonitor}, starting it with the given threshold if it has not yet been
+	 * started. An application that wants a threshold other than the default should call this method before
+	 * constructing any {@link HeapPressureCache} that uses the shared monitor.
+	 *
+	 * @throws IllegalArgumentException if {@code threshold} is not between 0 and 1, exclusive.
+	 * @throws IllegalStateException if the shared monitor has already been started with a different threshold.
+	 */
+	public static synchronized HeapPressureMonitor shared(double threshold) {
+		checkThreshold(threshold);
+		if (shared == null) {
+			shared = new HeapPressureMonitor(threshold);
+		}
+		else if (shared.threshold != threshold) {
+			throw new IllegalStateException("shared monitor already started with threshold " + shared.threshold);
+		}
+		return shared;
+	}
+
+	private static double checkThreshold(double threshold) {
+		if (!(threshold > 0 && threshold < 1)) {
+			throw new IllegalArgumentException("threshold must be between 0 and 1, exclusive");
+		}
+		return threshold;
+	}
+
+	/**
+	 * Returns the fraction of a heap memory pool's maximum size above which this monitor sheds mappings.
+	 */
+	public double threshold() {
+		return threshold;
+	}
+
+	synchronized void register(HeapPressureCache<?, ?> cache) {
+		for (Reference<?> ref; (ref = queue.poll()) != null;) {
+			caches.remove(ref);
+		}
+		caches.add(new WeakReference<>(cache, queue));
+	}
+
+	/**
+	 * Handles a notification from the JVM's service thread by recording the pressure that it reports in each cache, as
+	 * shedding mappings on that thread would both delay the JVM's other housekeeping and race with the caches' users.
+	 */
+	private void handleNotification(Notification notification, Object handback) {
+		MemoryUsage usage = MemoryNotificationInfo.from((CompositeData) notification.getUserData()).getUsage();
+		if (usage.getMax() <= 0) {
+			return;
+		}
+		double fraction = Math.min((usage.getUsed() / (double) usage.getMax() - threshold) / (1 - threshold), 1);
+		if (fraction > 0) {
+			synchronized (this) {
+				for (Iterator<WeakReference<HeapPressureCache<?, ?>>> it = caches.iterator(); it.hasNext();) {
+					HeapPressureCache<?, ?> cache = it.next().get();
+					if (cache == null) {
+						it.remove();
+					}
+					else {
+						cache.requestShed(fraction);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+/**
+ * An {@link AbstractIntReferenceCache} whose values are held by instances of {@link SoftReference}. The cache is
+ * backed by an open-addressing hash table whose keys are stored in an {@code int} array, so lookups neither box keys nor
+ * chase pointers through hash chains.
+ * 
+ * @author Matt Whitlock
+ */
+public class IntSoftCache<V> extends AbstractIntReferenceCache<V, IntSoftCache.Entry<V>> {
+
+	public static class Entry<V> extends SoftReference<V> implements AbstractIntCache.Entry<V> {
+
+		protected final int key;
+
+		protected Entry(int key, V value, ReferenceQueue<? super V> queue) {
+			super(value, queue);
+			this.key = key;
+		}
+
+		@Override
+		public int getIntKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return get();
+		}
+
+		@Override
+		public void removedFrom(AbstractCache<Integer, V, ?> cache) {
+			clear();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return AbstractIntCache.Entry.equals(this, obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return AbstractIntCache.Entry.hashCode(this);
+		}
+
+		@Override
+		public String toString() {
+			return AbstractIntCache.Entry.toString(this);
+		}
+
+	}
+
+	private final IntEntryHashMap<Entry<V>> table;
+
+	public IntSoftCache() {
+		this(0);
+	}
+
+	/**
+	 * Constructs a {@link IntSoftCache} that can hold the given number of mappings without resizing its table.
+	 *
+	 * @throws IllegalArgumentException if {@code expectedSize} is negative.
+	 */
+	public IntSoftCache(int expectedSize) {
+		this(new IntEntryHashMap<>(expectedSize));
+	}
+
+	private IntSoftCache(IntEntryHashMap<Entry<V>> table) {
+		super(table);
+		this.table = table;
+	}
+
+	@Override
+	protected Entry<V> newEntry(int key, V value) {
+		return new Entry<>(key, value, queue);
+	}
+
+	@Override
+	protected Entry<V> getEntry(int key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<V> removeEntry(int key) {
+		return table.removeEntry(key);
+	}
+
+}
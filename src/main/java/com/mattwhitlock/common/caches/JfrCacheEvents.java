@@ -0,0 +1,122 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The Flight Recorder event types emitted through {@link CacheEvents}. This class is loaded only if the runtime
+ * includes the {@code jdk.jfr} module. The removal event, which is emitted for every replaced, removed, or culled
+ * mapping, is disabled unless a recording enables it explicitly; the reap event reports culling in aggregate.
+ * 
+ * @author Matt Whitlock
+ */
+final class JfrCacheEvents {
+
+	@Name("com.mattwhitlock.common.caches.Reap")
+	@Label("Cache Reap")
+	@Description("Erased mappings were culled from a cache")
+	@Category({ "Java Application", "Caches" })
+	@StackTrace(false)
+	static final class ReapEvent extends Event {
+
+		@Label("Cache Class")
+		Class<?> cacheClass;
+
+		@Label("Count")
+		@Description("Number of erased mappings that were culled")
+		int count;
+
+	}
+
+	@Name("com.mattwhitlock.common.caches.Removal")
+	@Label("Cache Removal")
+	@Description("A mapping was removed from a cache")
+	@Category({ "Java Application", "Caches" })
+	@Enabled(false)
+	@StackTrace(false)
+	static final class RemovalEvent extends Event {
+
+		@Label("Cache Class")
+		Class<?> cacheClass;
+
+		@Label("Cause")
+		String cause;
+
+	}
+
+	@Name("com.mattwhitlock.common.caches.Load")
+	@Label("Cache Load")
+	@Description("A value was loaded into a cache")
+	@Category({ "Java Application", "Caches" })
+	@Threshold("20 ms")
+	static final class LoadEvent extends Event {
+
+		@Label("Cache Class")
+		Class<?> cacheClass;
+
+		@Label("Loaded")
+		@Description("Whether the loader returned a value")
+		boolean loaded;
+
+	}
+
+	private JfrCacheEvents() {
+	}
+
+	static Object beginReap() {
+		ReapEvent event = new ReapEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	static void endReap(Object token, AbstractCache<?, ?, ?> cache, int count) {
+		ReapEvent event = (ReapEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.cacheClass = cache.getClass();
+			event.count = count;
+			event.commit();
+		}
+	}
+
+	static Object beginLoad() {
+		LoadEvent event = new LoadEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	static void endLoad(Object token, Object cache, boolean loaded) {
+		LoadEvent event = (LoadEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.cacheClass = cache.getClass();
+			event.loaded = loaded;
+			event.commit();
+		}
+	}
+
+	static void removed(AbstractCache<?, ?, ?> cache, RemovalCause cause) {
+		RemovalEvent event = new RemovalEvent();
+		if (event.shouldCommit()) {
+			event.cacheClass = cache.getClass();
+			event.cause = cause.name();
+			event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,22 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * A {@link Cursor} over the mappings of a {@code long}-keyed cache, which exposes the key of the current mapping
+ * without boxing it.
+ * 
+ * @author Matt Whitlock
+ */
+public interface LongCursor<V> extends Cursor<Long, V> {
+
+	/**
+	 * Returns the key of the current mapping.
+	 * 
+	 * @throws IllegalStateException if {@link #advance()} has not returned {@code true} since this cursor was created
+	 * or since the current mapping was removed.
+	 */
+	long longKey();
+
+}
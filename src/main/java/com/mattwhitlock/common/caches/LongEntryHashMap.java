@@ -0,0 +1,151 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * An open-addressing hash table of {@link AbstractLongCache.Entry} objects that can be searched directly by
+ * {@code long} key, without constructing a probe entry or boxing the key. The keys are stored in a {@code long} array
+ * parallel to the array of entries, so that probing a slot never dereferences the entry.
+ * 
+ * @author Matt Whitlock
+ */
+final class LongEntryHashMap<E extends AbstractLongCache.Entry<?>> extends AbstractEntryHashMap<E> {
+
+	long[] keys;
+
+	LongEntryHashMap() {
+		this(0);
+	}
+
+	/**
+	 * Constructs a table that can hold the given number of entries without resizing, or as many as the largest table can
+	 * hold if the given number is greater.
+	 *
+	 * @throws IllegalArgumentException if {@code expectedSize} is negative.
+	 */
+	LongEntryHashMap(int expectedSize) {
+		super(expectedSize);
+		keys = new long[table.length];
+	}
+
+	static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ h >>> 32);
+	}
+
+	/**
+	 * Returns the index of the slot holding the entry with the given key, or {@code -1} if there is no such entry.
+	 */
+	private int indexOf(long key) {
+		Object[] table = this.table;
+		long[] keys = this.keys;
+		int mask = table.length - 1;
+		for (int i = hash(key) & mask;; i = i + 1 & mask) {
+			Object o = table[i];
+			if (o == null) {
+				return -1;
+			}
+			if (keys[i] == key && o != TOMBSTONE) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the entry with the given key, or {@code null} if there is no such entry.
+	 */
+	@SuppressWarnings("unchecked")
+	E getEntry(long key) {
+		int i = indexOf(key);
+		return i < 0 ? null : (E) table[i];
+	}
+
+	/**
+	 * Removes and returns the entry with the given key, or returns {@code null} if there is no such entry.
+	 */
+	E removeEntry(long key) {
+		int i = indexOf(key);
+		return i < 0 ? null : removeAt(i);
+	}
+
+	/**
+	 * Inserts the given entry, replacing and returning any entry having an equal key.
+	 *
+	 * @throws IllegalStateException if the table is at its maximum capacity and cannot hold another entry.
+	 */
+	@SuppressWarnings("unchecked")
+	E putEntry(E entry) {
+		long key = entry.getLongKey();
+		int mask = table.length - 1, free = -1;
+		for (int i = hash(key) & mask;; i = i + 1 & mask) {
+			Object o = table[i];
+			if (o == null) {
+				if (free < 0) {
+					if (isFull()) {
+						resize();
+						return putEntry(entry);
+					}
+					free = i;
+					++used;
+				}
+				break;
+			}
+			if (o == TOMBSTONE) {
+				if (free < 0) {
+					free = i;
+				}
+			}
+			else if (keys[i] == key) {
+				table[i] = entry;
+				return (E) o;
+			}
+		}
+		table[free] = entry;
+		keys[free] = key;
+		++size;
+		++modCount;
+		return null;
+	}
+
+	@Override
+	void rehash(Object[] oldTable) {
+		long[] oldKeys = keys;
+		Object[] table = this.table;
+		long[] keys = this.keys = new long[table.length];
+		int mask = table.length - 1;
+		for (int j = 0; j < oldTable.length; ++j) {
+			Object o = oldTable[j];
+			if (o != null && o != TOMBSTONE) {
+				long key = oldKeys[j];
+				int i = hash(key) & mask;
+				while (table[i] != null) {
+					i = i + 1 & mask;
+				}
+				table[i] = o;
+				keys[i] = key;
+			}
+		}
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof AbstractLongCache.Entry<?> && getEntry(((AbstractLongCache.Entry<?>) key).getLongKey()) != null;
+	}
+
+	@Override
+	public E get(Object key) {
+		return key instanceof AbstractLongCache.Entry<?> ? getEntry(((AbstractLongCache.Entry<?>) key).getLongKey()) : null;
+	}
+
+	@Override
+	public E put(E key, E value) {
+		return putEntry(value);
+	}
+
+	@Override
+	public E remove(Object key) {
+		return key instanceof AbstractLongCache.Entry<?> ? removeEntry(((AbstractLongCache.Entry<?>) key).getLongKey()) : null;
+	}
+
+}
@@ -0,0 +1,1201 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A B+-tree of {@link AbstractLongCache.Entry} objects, ordered by {@code long} key, that can be searched directly by
+ * key without constructing a probe entry or calling a {@link Comparator}. Each node stores its keys in a {@code long}
+ * array, so that a search binary-searches a few contiguous arrays rather than chasing a pointer per comparison, and the
+ * leaves are linked in key order, so that iterating over a range walks them sequentially. Each entry is both the key
+ * and the value of its mapping. Nodes are split when they overflow but are not merged until they are empty.
+ * <p>
+ * Sub-maps and descending maps are views backed by the same tree, as with {@link java.util.TreeMap}.
+ *
+ * @author Matt Whitlock
+ */
+final class LongEntryTreeMap<E extends AbstractLongCache.Entry<?>> extends AbstractMap<E, E> implements NavigableMap<E, E> {
+
+	private static final int LEAF_CAPACITY = 64, BRANCH_CAPACITY = 64;
+
+	private static abstract class Node {
+
+		final long[] keys;
+
+		int size;
+
+		Node(int capacity) {
+			keys = new long[capacity];
+		}
+
+	}
+
+	private static final class Leaf extends Node {
+
+		final Object[] entries = new Object[LEAF_CAPACITY];
+
+		Leaf prev, next;
+
+		Leaf() {
+			super(LEAF_CAPACITY);
+		}
+
+	}
+
+	/**
+	 * An interior node, whose {@code size} is its number of children. {@code keys[i]} is no greater than any key in
+	 * the subtree of {@code children[i + 1]} and greater than every key in the subtree of {@code children[i]}.
+	 */
+	private static final class Branch extends Node {
+
+		final Node[] children = new Node[BRANCH_CAPACITY + 1];
+
+		Branch() {
+			super(BRANCH_CAPACITY);
+		}
+
+	}
+
+	/**
+	 * A position in the tree. A {@code null} leaf denotes a position past the end.
+	 */
+	private static class Cursor {
+
+		Leaf leaf;
+
+		int index;
+
+	}
+
+	/**
+	 * The state shared by a map and all of its views.
+	 */
+	private static final class Tree {
+
+		Node root = new Leaf();
+
+		int size, modCount;
+
+		/**
+		 * Scratch outputs of {@link #insert(Node, long, Object)} and {@link #delete(Node, long)}.
+		 */
+		Object displaced;
+		long splitKey;
+
+		private static int childIndex(Branch branch, long key) {
+			int i = Arrays.binarySearch(branch.keys, 0, branch.size - 1, key);
+			return i < 0 ? -i - 1 : i + 1;
+		}
+
+		private Leaf leafFor(long key) {
+			Node node = root;
+			while (node instanceof Branch) {
+				Branch branch = (Branch) node;
+				node = branch.children[childIndex(branch, key)];
+			}
+			return (Leaf) node;
+		}
+
+		Object get(long key) {
+			Leaf leaf = leafFor(key);
+			int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+			return i < 0 ? null : leaf.entries[i];
+		}
+
+		Object put(long key, Object entry) {
+			Node sibling = insert(root, key, entry);
+			if (sibling != null) {
+				Branch branch = new Branch();
+				branch.children[0] = root;
+				branch.children[1] = sibling;
+				branch.keys[0] = splitKey;
+				branch.size = 2;
+				root = branch;
+			}
+			Object replaced = displaced;
+			displaced = null;
+			return replaced;
+		}
+
+		/**
+		 * Inserts the given entry into the subtree of the given node, returning the new right sibling of the node if it
+		 * had to be split, with its least key in {@link #splitKey}. Any replaced entry is left in {@link #displaced}.
+		 */
+		private Node insert(Node node, long key, Object entry) {
+			if (node instanceof Leaf) {
+				Leaf leaf = (Leaf) node;
+				int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+				if (i >= 0) {
+					displaced = leaf.entries[i];
+					leaf.entries[i] = entry;
+					return null;
+				}
+				i = -i - 1;
+				++size;
+				++modCount;
+				if (leaf.size < LEAF_CAPACITY) {
+					insertAt(leaf, i, key, entry);
+					return null;
+				}
+				// When appending to the last leaf, leave it full, as ascending keys would never fill its left half again.
+				int split = i == LEAF_CAPACITY && leaf.next == null ? LEAF_CAPACITY : LEAF_CAPACITY / 2;
+				Leaf right = new Leaf();
+				right.size = LEAF_CAPACITY - split;
+				System.arraycopy(leaf.keys, split, right.keys, 0, right.size);
+				System.arraycopy(leaf.entries, split, right.entries, 0, right.size);
+				Arrays.fill(leaf.entries, split, LEAF_CAPACITY, null);
+				leaf.size = split;
+				if (i < split) {
+					insertAt(leaf, i, key, entry);
+				}
+				else {
+					insertAt(right, i - split, key, entry);
+				}
+				if ((right.next = leaf.next) != null) {
+					right.next.prev = right;
+				}
+				right.prev = leaf;
+				leaf.next = right;
+				splitKey = right.keys[0];
+				return right;
+			}
+			Branch branch = (Branch) node;
+			int i = childIndex(branch, key);
+			Node sibling = insert(branch.children[i], key, entry);
+			if (sibling == null) {
+				return null;
+			}
+			int n = branch.size;
+			System.arraycopy(branch.keys, i, branch.keys, i + 1, n - 1 - i);
+			branch.keys[i] = splitKey;
+			System.arraycopy(branch.children, i + 1, branch.children, i + 2, n - 1 - i);
+			branch.children[i + 1] = sibling;
+			if (++branch.size <= BRANCH_CAPACITY) {
+				return null;
+			}
+			int split = (BRANCH_CAPACITY + 1) / 2;
+			Branch right = new Branch();
+			right.size = BRANCH_CAPACITY + 1 - split;
+			System.arraycopy(branch.children, split, right.children, 0, right.size);
+			System.arraycopy(branch.keys, split, right.keys, 0, right.size - 1);
+			Arrays.fill(branch.children, split, BRANCH_CAPACITY + 1, null);
+			branch.size = split;
+			splitKey = branch.keys[split - 1];
+			return right;
+		}
+
+		private static void insertAt(Leaf leaf, int i, long key, Object entry) {
+			System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.size - i);
+			System.arraycopy(leaf.entries, i, leaf.entries, i + 1, leaf.size - i);
+			leaf.keys[i] = key;
+			leaf.entries[i] = entry;
+			++leaf.size;
+		}
+
+		Object remove(long key) {
+			if (delete(root, key) && root instanceof Branch) {
+				root = new Leaf();
+			}
+			while (root instanceof Branch && root.size == 1) {
+				root = ((Branch) root).children[0];
+			}
+			Object removed = displaced;
+			displaced = null;
+			return removed;
+		}
+
+		/**
+		 * Removes the entry with the given key from the subtree of the given node, leaving it in {@link #displaced},
+		 * and returns whether the node was left empty. An empty leaf is unlinked from its neighbors.
+		 */
+		private boolean delete(Node node, long key) {
+			if (node instanceof Leaf) {
+				Leaf leaf = (Leaf) node;
+				int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+				if (i < 0) {
+					return false;
+				}
+				displaced = leaf.entries[i];
+				int n = --leaf.size;
+				System.arraycopy(leaf.keys, i + 1, leaf.keys, i, n - i);
+				System.arraycopy(leaf.entries, i + 1, leaf.entries, i, n - i);
+				leaf.entries[n] = null;
+				--size;
+				++modCount;
+				if (n > 0) {
+					return false;
+				}
+				if (leaf.prev != null) {
+					leaf.prev.next = leaf.next;
+				}
+				if (leaf.next != null) {
+					leaf.next.prev = leaf.prev;
+				}
+				return true;
+			}
+			Branch branch = (Branch) node;
+			int i = childIndex(branch, key);
+			if (!delete(branch.children[i], key)) {
+				return false;
+			}
+			int n = branch.size;
+			if (n > 1) {
+				int k = i > 0 ? i - 1 : 0;
+				System.arraycopy(branch.keys, k + 1, branch.keys, k, n - 2 - k);
+			}
+			System.arraycopy(branch.children, i + 1, branch.children, i, n - 1 - i);
+			branch.children[branch.size = n - 1] = null;
+			return n == 1;
+		}
+
+		void clear() {
+			root = new Leaf();
+			size = 0;
+			++modCount;
+		}
+
+		void first(Cursor cursor) {
+			Node node = root;
+			while (node instanceof Branch) {
+				node = ((Branch) node).children[0];
+			}
+			cursor.leaf = node.size == 0 ? null : (Leaf) node;
+			cursor.index = 0;
+		}
+
+		void last(Cursor cursor) {
+			Node node = root;
+			while (node instanceof Branch) {
+				node = ((Branch) node).children[node.size - 1];
+			}
+			cursor.leaf = node.size == 0 ? null : (Leaf) node;
+			cursor.index = node.size - 1;
+		}
+
+		/**
+		 * Positions the cursor at the least entry whose key is greater than (or equal to, if {@code inclusive}) the
+		 * given key.
+		 */
+		void ceiling(Cursor cursor, long key, boolean inclusive) {
+			Leaf leaf = leafFor(key);
+			int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+			i = i < 0 ? -i - 1 : inclusive ? i : i + 1;
+			if (i == leaf.size) {
+				leaf = leaf.next;
+				i = 0;
+			}
+			cursor.leaf = leaf;
+			cursor.index = i;
+		}
+
+		/**
+		 * Positions the cursor at the greatest entry whose key is less than (or equal to, if {@code inclusive}) the
+		 * given key.
+		 */
+		void floor(Cursor cursor, long key, boolean inclusive) {
+			Leaf leaf = leafFor(key);
+			int i = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+			i = i < 0 ? -i - 2 : inclusive ? i : i - 1;
+			if (i < 0 && (leaf = leaf.prev) != null) {
+				i = leaf.size - 1;
+			}
+			cursor.leaf = leaf;
+			cursor.index = i;
+		}
+
+	}
+
+	private abstract class RangeIterator<T> extends Cursor implements Iterator<T> {
+
+		private E lastReturned;
+
+		private int expectedModCount = tree.modCount;
+
+		RangeIterator() {
+			seekFirst(this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return leaf != null;
+		}
+
+		@SuppressWarnings("unchecked")
+		final E nextEntry() {
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (leaf == null) {
+				throw new NoSuchElementException();
+			}
+			E entry = (E) leaf.entries[index];
+			if (descending) {
+				if (--index < 0 && (leaf = leaf.prev) != null) {
+					index = leaf.size - 1;
+				}
+				clipLow(this);
+			}
+			else {
+				if (++index == leaf.size) {
+					leaf = leaf.next;
+					index = 0;
+				}
+				clipHigh(this);
+			}
+			return lastReturned = entry;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			long key = lastReturned.getLongKey();
+			tree.remove(key);
+			lastReturned = null;
+			expectedModCount = tree.modCount;
+			// The removal may have shifted or unlinked the next entry's leaf, so find it again.
+			if (leaf != null) {
+				if (descending) {
+					absFloor(this, key, false);
+				}
+				else {
+					absCeiling(this, key, false);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Splits the range of a view at the midpoint of its least and greatest keys and traverses it by walking the leaves
+	 * in order. The spliterator binds to the tree upon first use.
+	 */
+	private final class RangeSpliterator extends Cursor implements Spliterator<E> {
+
+		/**
+		 * The inclusive bounds of the keys remaining to this spliterator, in ascending order regardless of
+		 * {@link #descending}.
+		 */
+		long min, max;
+
+		boolean exhausted, started, split;
+
+		int est = -1, expectedModCount;
+
+		RangeSpliterator() {
+			min = fromStart ? Long.MIN_VALUE : lo;
+			max = toEnd ? Long.MAX_VALUE : hi;
+			if (!fromStart && !loInclusive) {
+				exhausted |= min++ == Long.MAX_VALUE;
+			}
+			if (!toEnd && !hiInclusive) {
+				exhausted |= max-- == Long.MIN_VALUE;
+			}
+			exhausted |= min > max;
+		}
+
+		private void bind() {
+			if (est < 0) {
+				est = tree.size;
+				expectedModCount = tree.modCount;
+			}
+		}
+
+		/**
+		 * Narrows the bounds to the least and greatest keys actually present within them. This spliterator serves as
+		 * its own cursor, as it has not yet started its traversal, so that sibling spliterators may split concurrently.
+		 */
+		private void narrow() {
+			tree.ceiling(this, min, true);
+			if (leaf == null || (min = leaf.keys[index]) > max) {
+				exhausted = true;
+			}
+			else {
+				tree.floor(this, max, true);
+				max = leaf.keys[index];
+			}
+			leaf = null;
+		}
+
+		@Override
+		public Spliterator<E> trySplit() {
+			bind();
+			if (started || exhausted) {
+				return null;
+			}
+			narrow();
+			if (exhausted || min == max) {
+				return null;
+			}
+			long mid = min + (max - min >>> 1);
+			RangeSpliterator prefix = new RangeSpliterator();
+			if (descending) {
+				prefix.min = mid + 1;
+				prefix.max = max;
+				max = mid;
+			}
+			else {
+				prefix.min = min;
+				prefix.max = mid;
+				min = mid + 1;
+			}
+			prefix.est = est >>>= 1;
+			prefix.expectedModCount = expectedModCount;
+			prefix.split = split = true;
+			return prefix;
+		}
+
+		private void start() {
+			started = true;
+			if (exhausted) {
+				leaf = null;
+			}
+			else if (descending) {
+				tree.floor(this, max, true);
+			}
+			else {
+				tree.ceiling(this, min, true);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(Consumer<? super E> action) {
+			bind();
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!started) {
+				start();
+			}
+			if (leaf == null) {
+				return false;
+			}
+			long key = leaf.keys[index];
+			if (descending ? key < min : key > max) {
+				leaf = null;
+				return false;
+			}
+			E entry = (E) leaf.entries[index];
+			if (descending) {
+				if (--index < 0 && (leaf = leaf.prev) != null) {
+					index = leaf.size - 1;
+				}
+			}
+			else if (++index == leaf.size) {
+				leaf = leaf.next;
+				index = 0;
+			}
+			action.accept(entry);
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void forEachRemaining(Consumer<? super E> action) {
+			bind();
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!started) {
+				start();
+			}
+			Leaf leaf = this.leaf;
+			int i = index;
+			this.leaf = null;
+			walk: while (leaf != null) {
+				long[] keys = leaf.keys;
+				Object[] entries = leaf.entries;
+				if (descending) {
+					for (; i >= 0; --i) {
+						if (keys[i] < min) {
+							break walk;
+						}
+						action.accept((E) entries[i]);
+					}
+					if ((leaf = leaf.prev) != null) {
+						i = leaf.size - 1;
+					}
+				}
+				else {
+					for (int n = leaf.size; i < n; ++i) {
+						if (keys[i] > max) {
+							break walk;
+						}
+						action.accept((E) entries[i]);
+					}
+					leaf = leaf.next;
+					i = 0;
+				}
+			}
+			if (tree.modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			bind();
+			return est;
+		}
+
+		@Override
+		public int characteristics() {
+			return (isFullRange() && !split ? SIZED : 0) | ORDERED | SORTED | DISTINCT | NONNULL;
+		}
+
+		@Override
+		public Comparator<? super E> getComparator() {
+			return comparator();
+		}
+
+	}
+
+	private final class KeySet extends AbstractSet<E> implements NavigableSet<E> {
+
+		KeySet() {
+		}
+
+		@Override
+		public int size() {
+			return LongEntryTreeMap.this.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return LongEntryTreeMap.this.isEmpty();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey(o);
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			return LongEntryTreeMap.this.remove(o) != null;
+		}
+
+		@Override
+		public void clear() {
+			LongEntryTreeMap.this.clear();
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new RangeIterator<E>() {
+
+				@Override
+				public E next() {
+					return nextEntry();
+				}
+
+			};
+		}
+
+		@Override
+		public Spliterator<E> spliterator() {
+			return new RangeSpliterator();
+		}
+
+		@Override
+		public Comparator<? super E> comparator() {
+			return LongEntryTreeMap.this.comparator();
+		}
+
+		@Override
+		public E first() {
+			return firstKey();
+		}
+
+		@Override
+		public E last() {
+			return lastKey();
+		}
+
+		@Override
+		public E lower(E e) {
+			return lowerKey(e);
+		}
+
+		@Override
+		public E floor(E e) {
+			return floorKey(e);
+		}
+
+		@Override
+		public E ceiling(E e) {
+			return ceilingKey(e);
+		}
+
+		@Override
+		public E higher(E e) {
+			return higherKey(e);
+		}
+
+		@Override
+		public E pollFirst() {
+			Map.Entry<E, E> entry = pollFirstEntry();
+			return entry == null ? null : entry.getKey();
+		}
+
+		@Override
+		public E pollLast() {
+			Map.Entry<E, E> entry = pollLastEntry();
+			return entry == null ? null : entry.getKey();
+		}
+
+		@Override
+		public NavigableSet<E> descendingSet() {
+			return descendingKeySet();
+		}
+
+		@Override
+		public Iterator<E> descendingIterator() {
+			return descendingSet().iterator();
+		}
+
+		@Override
+		public SortedSet<E> subSet(E fromElement, E toElement) {
+			return subSet(fromElement, true, toElement, false);
+		}
+
+		@Override
+		public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+			return subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+		}
+
+		@Override
+		public SortedSet<E> headSet(E toElement) {
+			return headSet(toElement, false);
+		}
+
+		@Override
+		public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+			return headMap(toElement, inclusive).navigableKeySet();
+		}
+
+		@Override
+		public SortedSet<E> tailSet(E fromElement) {
+			return tailSet(fromElement, true);
+		}
+
+		@Override
+		public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+			return tailMap(fromElement, inclusive).navigableKeySet();
+		}
+
+	}
+
+	private final Tree tree;
+
+	/**
+	 * The bounds of this view, in ascending order regardless of {@link #descending}.
+	 */
+	private final long lo, hi;
+	private final boolean fromStart, loInclusive, toEnd, hiInclusive;
+
+	private final boolean descending;
+
+	LongEntryTreeMap() {
+		this(new Tree(), true, 0, false, true, 0, false, false);
+	}
+
+	private LongEntryTreeMap(Tree tree, boolean fromStart, long lo, boolean loInclusive, boolean toEnd, long hi, boolean hiInclusive, boolean descending) {
+		this.tree = tree;
+		this.fromStart = fromStart;
+		this.lo = lo;
+		this.loInclusive = loInclusive;
+		this.toEnd = toEnd;
+		this.hi = hi;
+		this.hiInclusive = hiInclusive;
+		this.descending = descending;
+	}
+
+	private static long longKey(Object key) {
+		return ((AbstractLongCache.Entry<?>) key).getLongKey();
+	}
+
+	private boolean tooLow(long key) {
+		return !fromStart && (key < lo || key == lo && !loInclusive);
+	}
+
+	private boolean tooHigh(long key) {
+		return !toEnd && (key > hi || key == hi && !hiInclusive);
+	}
+
+	private boolean inRange(long key) {
+		return !tooLow(key) && !tooHigh(key);
+	}
+
+	private boolean inRange(long key, boolean inclusive) {
+		return inclusive ? inRange(key) : (fromStart || key >= lo) && (toEnd || key <= hi);
+	}
+
+	private boolean isFullRange() {
+		return fromStart && toEnd;
+	}
+
+	void clipLow(Cursor cursor) {
+		if (cursor.leaf != null && tooLow(cursor.leaf.keys[cursor.index])) {
+			cursor.leaf = null;
+		}
+	}
+
+	void clipHigh(Cursor cursor) {
+		if (cursor.leaf != null && tooHigh(cursor.leaf.keys[cursor.index])) {
+			cursor.leaf = null;
+		}
+	}
+
+	private void absLowest(Cursor cursor) {
+		if (fromStart) {
+			tree.first(cursor);
+		}
+		else {
+			tree.ceiling(cursor, lo, loInclusive);
+		}
+		clipHigh(cursor);
+	}
+
+	private void absHighest(Cursor cursor) {
+		if (toEnd) {
+			tree.last(cursor);
+		}
+		else {
+			tree.floor(cursor, hi, hiInclusive);
+		}
+		clipLow(cursor);
+	}
+
+	void absCeiling(Cursor cursor, long key, boolean inclusive) {
+		if (tooLow(key)) {
+			absLowest(cursor);
+		}
+		else {
+			tree.ceiling(cursor, key, inclusive);
+			clipHigh(cursor);
+		}
+	}
+
+	void absFloor(Cursor cursor, long key, boolean inclusive) {
+		if (tooHigh(key)) {
+			absHighest(cursor);
+		}
+		else {
+			tree.floor(cursor, key, inclusive);
+			clipLow(cursor);
+		}
+	}
+
+	void seekFirst(Cursor cursor) {
+		if (descending) {
+			absHighest(cursor);
+		}
+		else {
+			absLowest(cursor);
+		}
+	}
+
+	private void seekLast(Cursor cursor) {
+		if (descending) {
+			absLowest(cursor);
+		}
+		else {
+			absHighest(cursor);
+		}
+	}
+
+	/**
+	 * Positions the cursor at the first entry in this view's order that follows (or equals, if {@code inclusive}) the
+	 * given key.
+	 */
+	private void seekAfter(Cursor cursor, long key, boolean inclusive) {
+		if (descending) {
+			absFloor(cursor, key, inclusive);
+		}
+		else {
+			absCeiling(cursor, key, inclusive);
+		}
+	}
+
+	/**
+	 * Positions the cursor at the last entry in this view's order that precedes (or equals, if {@code inclusive}) the
+	 * given key.
+	 */
+	private void seekBefore(Cursor cursor, long key, boolean inclusive) {
+		if (descending) {
+			absCeiling(cursor, key, inclusive);
+		}
+		else {
+			absFloor(cursor, key, inclusive);
+		}
+	}
+
+	/**
+	 * Returns the entry at the given cursor, or {@code null} if the cursor is past the end.
+	 */
+	@SuppressWarnings("unchecked")
+	private E take(Cursor cursor) {
+		Leaf leaf = cursor.leaf;
+		return leaf == null ? null : (E) leaf.entries[cursor.index];
+	}
+
+	private static <E> Map.Entry<E, E> exportEntry(E entry) {
+		return entry == null ? null : new AbstractMap.SimpleImmutableEntry<>(entry, entry);
+	}
+
+	/**
+	 * Returns the entry with the given key, or {@code null} if there is no such entry in this view.
+	 */
+	@SuppressWarnings("unchecked")
+	E getEntry(long key) {
+		return inRange(key) ? (E) tree.get(key) : null;
+	}
+
+	/**
+	 * Removes and returns the entry with the given key, or returns {@code null} if there is no such entry in this view.
+	 */
+	@SuppressWarnings("unchecked")
+	E removeEntry(long key) {
+		return inRange(key) ? (E) tree.remove(key) : null;
+	}
+
+	@Override
+	public int size() {
+		if (isFullRange()) {
+			return tree.size;
+		}
+		int size = 0;
+		for (Iterator<E> it = keySet().iterator(); it.hasNext(); it.next()) {
+			++size;
+		}
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		if (isFullRange()) {
+			return tree.size == 0;
+		}
+		Cursor cursor = new Cursor();
+		seekFirst(cursor);
+		return take(cursor) == null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return getEntry(longKey(key)) != null;
+	}
+
+	@Override
+	public E get(Object key) {
+		return getEntry(longKey(key));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E put(E key, E value) {
+		long k = value.getLongKey();
+		if (!inRange(k)) {
+			throw new IllegalArgumentException("key out of range");
+		}
+		return (E) tree.put(k, value);
+	}
+
+	@Override
+	public E remove(Object key) {
+		return removeEntry(longKey(key));
+	}
+
+	@Override
+	public void clear() {
+		if (isFullRange()) {
+			tree.clear();
+		}
+		else {
+			for (Iterator<E> it = keySet().iterator(); it.hasNext();) {
+				it.next();
+				it.remove();
+			}
+		}
+	}
+
+	@Override
+	public Comparator<? super E> comparator() {
+		return descending ? Collections.reverseOrder(AbstractNavigableLongCache.entryComparator) : AbstractNavigableLongCache.entryComparator;
+	}
+
+	@Override
+	public E firstKey() {
+		Cursor cursor = new Cursor();
+		seekFirst(cursor);
+		E entry = take(cursor);
+		if (entry == null) {
+			throw new NoSuchElementException();
+		}
+		return entry;
+	}
+
+	@Override
+	public E lastKey() {
+		Cursor cursor = new Cursor();
+		seekLast(cursor);
+		E entry = take(cursor);
+		if (entry == null) {
+			throw new NoSuchElementException();
+		}
+		return entry;
+	}
+
+	@Override
+	public Map.Entry<E, E> firstEntry() {
+		Cursor cursor = new Cursor();
+		seekFirst(cursor);
+		return exportEntry(take(cursor));
+	}
+
+	@Override
+	public Map.Entry<E, E> lastEntry() {
+		Cursor cursor = new Cursor();
+		seekLast(cursor);
+		return exportEntry(take(cursor));
+	}
+
+	@Override
+	public Map.Entry<E, E> pollFirstEntry() {
+		Cursor cursor = new Cursor();
+		seekFirst(cursor);
+		E entry = take(cursor);
+		if (entry != null) {
+			tree.remove(entry.getLongKey());
+		}
+		return exportEntry(entry);
+	}
+
+	@Override
+	public Map.Entry<E, E> pollLastEntry() {
+		Cursor cursor = new Cursor();
+		seekLast(cursor);
+		E entry = take(cursor);
+		if (entry != null) {
+			tree.remove(entry.getLongKey());
+		}
+		return exportEntry(entry);
+	}
+
+	@Override
+	public E lowerKey(E key) {
+		Cursor cursor = new Cursor();
+		seekBefore(cursor, longKey(key), false);
+		return take(cursor);
+	}
+
+	@Override
+	public E floorKey(E key) {
+		Cursor cursor = new Cursor();
+		seekBefore(cursor, longKey(key), true);
+		return take(cursor);
+	}
+
+	@Override
+	public E ceilingKey(E key) {
+		Cursor cursor = new Cursor();
+		seekAfter(cursor, longKey(key), true);
+		return take(cursor);
+	}
+
+	@Override
+	public E higherKey(E key) {
+		Cursor cursor = new Cursor();
+		seekAfter(cursor, longKey(key), false);
+		return take(cursor);
+	}
+
+	@Override
+	public Map.Entry<E, E> lowerEntry(E key) {
+		return exportEntry(lowerKey(key));
+	}
+
+	@Override
+	public Map.Entry<E, E> floorEntry(E key) {
+		return exportEntry(floorKey(key));
+	}
+
+	@Override
+	public Map.Entry<E, E> ceilingEntry(E key) {
+		return exportEntry(ceilingKey(key));
+	}
+
+	@Override
+	public Map.Entry<E, E> higherEntry(E key) {
+		return exportEntry(higherKey(key));
+	}
+
+	/**
+	 * Returns a view of the given range in ascending key order, where an unspecified bound is inherited from this
+	 * view. The view has the same direction as this view.
+	 */
+	private NavigableMap<E, E> range(boolean inheritLo, long lo, boolean loInclusive, boolean inheritHi, long hi, boolean hiInclusive) {
+		if (!inheritLo && !inRange(lo, loInclusive) || !inheritHi && !inRange(hi, hiInclusive)) {
+			throw new IllegalArgumentException("key out of range");
+		}
+		if (!inheritLo && !inheritHi && lo > hi) {
+			throw new IllegalArgumentException("fromKey > toKey");
+		}
+		return inheritLo ? inheritHi ? this : new LongEntryTreeMap<>(tree, fromStart, this.lo, this.loInclusive, false, hi, hiInclusive, descending)
+				: inheritHi ? new LongEntryTreeMap<>(tree, false, lo, loInclusive, toEnd, this.hi, this.hiInclusive, descending)
+						: new LongEntryTreeMap<>(tree, false, lo, loInclusive, false, hi, hiInclusive, descending);
+	}
+
+	@Override
+	public NavigableMap<E, E> subMap(E fromKey, boolean fromInclusive, E toKey, boolean toInclusive) {
+		long from = longKey(fromKey), to = longKey(toKey);
+		return descending ? range(false, to, toInclusive, false, from, fromInclusive) : range(false, from, fromInclusive, false, to, toInclusive);
+	}
+
+	@Override
+	public NavigableMap<E, E> headMap(E toKey, boolean inclusive) {
+		long to = longKey(toKey);
+		return descending ? range(false, to, inclusive, true, 0, false) : range(true, 0, false, false, to, inclusive);
+	}
+
+	@Override
+	public NavigableMap<E, E> tailMap(E fromKey, boolean inclusive) {
+		long from = longKey(fromKey);
+		return descending ? range(true, 0, false, false, from, inclusive) : range(false, from, inclusive, true, 0, false);
+	}
+
+	@Override
+	public SortedMap<E, E> subMap(E fromKey, E toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public SortedMap<E, E> headMap(E toKey) {
+		return headMap(toKey, false);
+	}
+
+	@Override
+	public SortedMap<E, E> tailMap(E fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	@Override
+	public NavigableMap<E, E> descendingMap() {
+		return new LongEntryTreeMap<>(tree, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+	}
+
+	@Override
+	public NavigableSet<E> keySet() {
+		return navigableKeySet();
+	}
+
+	@Override
+	public NavigableSet<E> navigableKeySet() {
+		return new KeySet();
+	}
+
+	@Override
+	public NavigableSet<E> descendingKeySet() {
+		return descendingMap().navigableKeySet();
+	}
+
+	@Override
+	public Collection<E> values() {
+		return new AbstractCollection<E>() {
+
+			@Override
+			public int size() {
+				return LongEntryTreeMap.this.size();
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return LongEntryTreeMap.this.isEmpty();
+			}
+
+			@Override
+			public void clear() {
+				LongEntryTreeMap.this.clear();
+			}
+
+			@Override
+			public Iterator<E> iterator() {
+				return new RangeIterator<E>() {
+
+					@Override
+					public E next() {
+						return nextEntry();
+					}
+
+				};
+			}
+
+			@Override
+			public Spliterator<E> spliterator() {
+				return new RangeSpliterator();
+			}
+
+		};
+	}
+
+	@Override
+	public Set<Map.Entry<E, E>> entrySet() {
+		return new AbstractSet<Map.Entry<E, E>>() {
+
+			@Override
+			public int size() {
+				return LongEntryTreeMap.this.size();
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return LongEntryTreeMap.this.isEmpty();
+			}
+
+			@Override
+			public void clear() {
+				LongEntryTreeMap.this.clear();
+			}
+
+			@Override
+			public Iterator<Map.Entry<E, E>> iterator() {
+				return new RangeIterator<Map.Entry<E, E>>() {
+
+					@Override
+					public Map.Entry<E, E> next() {
+						E entry = nextEntry();
+						return new AbstractMap.SimpleImmutableEntry<>(entry, entry);
+					}
+
+				};
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,17 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * An operation on a {@code long} key and an object value, which is the unboxed counterpart of
+ * {@link java.util.function.BiConsumer BiConsumer&lt;Long, V&gt;}.
+ * 
+ * @author Matt Whitlock
+ */
+@FunctionalInterface
+public interface LongObjConsumer<V> {
+
+	void accept(long key, V value);
+
+}
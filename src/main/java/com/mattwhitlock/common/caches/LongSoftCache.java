@@ -5,10 +5,11 @@ package com.mattwhitlock.common.caches;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
 
 /**
- * An {@link AbstractLongReferenceCache} whose values are held by instances of {@link SoftReference}.
+ * An {@link AbstractLongReferenceCache} whose values are held by instances of {@link SoftReference}. The cache is
+ * backed by an open-addressing hash table whose keys are stored in a {@code long} array, so lookups neither box keys nor
+ * chase pointers through hash chains.
  * 
  * @author Matt Whitlock
  */
@@ -55,8 +56,43 @@ public class LongSoftCache<V> extends AbstractLongReferenceCache<V, LongSoftCach
 
 	}
 
+	/**
+	 * An {@link Entry} that is culled by a {@link ReferenceReaper}, for use by {@link ConcurrentNavigableLongSoftCache}.
+	 */
+	public static class ReapableEntry<V> extends Entry<V> implements ReferenceReaper.Reapable {
+
+		protected final AbstractCache<Long, V, ?> cache;
+
+		protected ReapableEntry(long key, V value, ReferenceQueue<? super V> queue, AbstractCache<Long, V, ?> cache) {
+			super(key, value, queue);
+			this.cache = cache;
+		}
+
+		@Override
+		public AbstractCache<Long, V, ?> cache() {
+			return cache;
+		}
+
+	}
+
+	private final LongEntryHashMap<Entry<V>> table;
+
 	public LongSoftCache() {
-		super(new HashMap<>());
+		this(0);
+	}
+
+	/**
+	 * Constructs a {@link LongSoftCache} that can hold the given number of mappings without resizing its table.
+	 *
+	 * @throws IllegalArgumentException if {@code expectedSize} is negative.
+	 */
+	public LongSoftCache(int expectedSize) {
+		this(new LongEntryHashMap<>(expectedSize));
+	}
+
+	private LongSoftCache(LongEntryHashMap<Entry<V>> table) {
+		super(table);
+		this.table = table;
 	}
 
 	@Override
@@ -64,4 +100,14 @@ public class LongSoftCache<V> extends AbstractLongReferenceCache<V, LongSoftCach
 		return new Entry<>(key, value, queue);
 	}
 
+	@Override
+	protected Entry<V> getEntry(long key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<V> removeEntry(long key) {
+		return table.removeEntry(key);
+	}
+
 }
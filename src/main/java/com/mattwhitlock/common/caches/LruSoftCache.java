@@ -0,0 +1,234 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import com.mattwhitlock.common.ArgUtil;
+
+/**
+ * An {@link AbstractReferenceCache} that holds the values of its most recently used mappings strongly and the values
+ * of all other mappings by instances of {@link SoftReference}. The strongly held mappings form a working set that the
+ * garbage collector cannot erase, while the softly held mappings occupy whatever memory the heap can spare.
+ * <p>
+ * A mapping joins the strongly held set when it is put or when its value is retrieved by {@link #get(Object)}. When
+ * the set exceeds its capacity, its least recently used mappings are demoted to being held only softly. The capacity
+ * may be a number of mappings or a maximum total weight, as computed by a {@link Weigher}.
+ * 
+ * @author Matt Whitlock
+ */
+public class LruSoftCache<K, V> extends AbstractReferenceCache<K, V, LruSoftCache.Entry<K, V>> {
+
+	public static class Entry<K, V> extends SoftCache.Entry<K, V> {
+
+		/**
+		 * The value, if this entry is in the strongly held set, or else {@code null}.
+		 */
+		V strongValue;
+
+		/**
+		 * The neighbors of this entry in the strongly held set, or {@code null} if this entry is not in the set.
+		 */
+		Entry<K, V> prev, next;
+
+		/**
+		 * The weight of this entry, as computed by the cache's {@link Weigher}.
+		 */
+		int weight;
+
+		protected Entry(K key, V value, ReferenceQueue<? super V> queue) {
+			super(key, value, queue);
+		}
+
+		@Override
+		public void removedFrom(AbstractCache<K, V, ?> cache) {
+			strongValue = null;
+			super.removedFrom(cache);
+		}
+
+	}
+
+	private final EntryHashMap<K, Entry<K, V>> table;
+
+	/**
+	 * The sentinel of the circular list of strongly held entries, ordered from most to least recently used.
+	 */
+	private final Entry<K, V> head = new Entry<>(null, null, null);
+
+	private final Weigher<? super K, ? super V> weigher;
+
+	private final long maximumWeight;
+
+	private int strongSize;
+
+	private long strongWeight;
+
+	/**
+	 * Constructs an {@link LruSoftCache} that holds at most {@code capacity} values strongly.
+	 */
+	public LruSoftCache(int capacity) {
+		this(new EntryHashMap<>(), ArgUtil.checkPositive(capacity, "capacity"), (key, value) -> 1);
+	}
+
+	/**
+	 * Constructs an {@link LruSoftCache} that holds values strongly up to a total weight of {@code maximumWeight}, as
+	 * computed by the given {@link Weigher}. A mapping that alone weighs more than {@code maximumWeight} is held only
+	 * softly.
+	 */
+	public LruSoftCache(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+		this(new EntryHashMap<>(), ArgUtil.checkNonNegative(maximumWeight, "maximumWeight"), Objects.requireNonNull(weigher, "weigher"));
+	}
+
+	private LruSoftCache(EntryHashMap<K, Entry<K, V>> table, long maximumWeight, Weigher<? super K, ? super V> weigher) {
+		super(table);
+		this.table = table;
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		head.prev = head.next = head;
+	}
+
+	/**
+	 * Returns the number of mappings whose values are currently held strongly.
+	 */
+	public int strongSize() {
+		return strongSize;
+	}
+
+	/**
+	 * Returns the total weight of the mappings whose values are currently held strongly.
+	 */
+	public long strongWeight() {
+		return strongWeight;
+	}
+
+	@Override
+	protected Entry<K, V> newEntry(K key, V value) {
+		Entry<K, V> entry = new Entry<>(key, value, queue);
+		if ((entry.weight = weigher.weigh(key, value)) < 0) {
+			throw new IllegalArgumentException("weight must not be negative");
+		}
+		return entry;
+	}
+
+	/**
+	 * Puts the given mapping, which joins the strongly held set as its most recently used member once the table has
+	 * accepted it.
+	 */
+	@Override
+	public V put(K key, V value) {
+		Objects.requireNonNull(value);
+		Entry<K, V> entry = newEntry(key, value), replaced = table.putEntry(entry);
+		recordPut();
+		V replacedValue = null;
+		if (replaced != null) {
+			replacedValue = replaced.getValue();
+			removed(replaced, RemovalCause.REPLACED);
+		}
+		touch(entry, value);
+		trim();
+		return replacedValue;
+	}
+
+	@Override
+	protected V lookup(Object key) {
+		Entry<K, V> entry = table.getEntry(key);
+		if (entry == null) {
+			return recordLookup(null);
+		}
+		V value = entry.getValue();
+		if (value != null) {
+			touch(entry, value);
+			trim();
+		}
+		return recordLookup(value);
+	}
+
+	/**
+	 * Returns the keys of the strongly held mappings, most recently used first, followed by the keys of the softly held
+	 * mappings whose values have not been cleared.
+	 */
+	@Override
+	public List<K> hottestKeys(int limit) {
+		List<K> keys = new ArrayList<>(Math.min(limit, table.size()));
+		for (Entry<K, V> entry = head.next; entry != head && keys.size() < limit; entry = entry.next) {
+			keys.add(entry.getKey());
+		}
+		for (Iterator<Entry<K, V>> it = table.values().iterator(); keys.size() < limit && it.hasNext();) {
+			Entry<K, V> entry = it.next();
+			if (entry.next == null && entry.getValue() != null) {
+				keys.add(entry.getKey());
+			}
+		}
+		return keys;
+	}
+
+	@Override
+	protected Entry<K, V> getEntry(Object key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<K, V> removeEntry(Object key) {
+		return table.removeEntry(key);
+	}
+
+	@Override
+	protected void removed(AbstractCache.Entry<K, V> entry, RemovalCause cause) {
+		Entry<K, V> e = (Entry<K, V>) entry;
+		if (e.next != null) {
+			unlink(e);
+		}
+		super.removed(entry, cause);
+	}
+
+	/**
+	 * Makes the given entry the most recently used member of the strongly held set, unless it alone would exceed the
+	 * capacity of the set.
+	 */
+	private void touch(Entry<K, V> entry, V value) {
+		if (entry.weight > maximumWeight) {
+			return;
+		}
+		if (entry.next != null) {
+			if (head.next == entry) {
+				return;
+			}
+			entry.prev.next = entry.next;
+			entry.next.prev = entry.prev;
+		}
+		else {
+			entry.strongValue = value;
+			++strongSize;
+			strongWeight += entry.weight;
+		}
+		entry.prev = head;
+		entry.next = head.next;
+		head.next.prev = entry;
+		head.next = entry;
+	}
+
+	/**
+	 * Demotes the least recently used members of the strongly held set until the set is within its capacity.
+	 */
+	private void trim() {
+		while (strongWeight > maximumWeight) {
+			unlink(head.prev);
+		}
+	}
+
+	private void unlink(Entry<K, V> entry) {
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+		entry.prev = entry.next = null;
+		entry.strongValue = null;
+		--strongSize;
+		strongWeight -= entry.weight;
+	}
+
+}
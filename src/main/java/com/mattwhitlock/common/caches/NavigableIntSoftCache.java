@@ -0,0 +1,25 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.lang.ref.SoftReference;
+import java.util.TreeMap;
+
+/**
+ * An {@link AbstractNavigableIntReferenceCache} whose values are held by instances of {@link SoftReference}.
+ * 
+ * @author Matt Whitlock
+ */
+public class NavigableIntSoftCache<V> extends AbstractNavigableIntReferenceCache<V, IntSoftCache.Entry<V>> {
+
+	public NavigableIntSoftCache() {
+		super(new TreeMap<>(entryComparator));
+	}
+
+	@Override
+	protected IntSoftCache.Entry<V> newEntry(int key, V value) {
+		return new IntSoftCache.Entry<>(key, value, queue);
+	}
+
+}
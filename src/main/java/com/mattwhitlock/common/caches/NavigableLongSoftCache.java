@@ -4,17 +4,25 @@
 package com.mattwhitlock.common.caches;
 
 import java.lang.ref.SoftReference;
-import java.util.TreeMap;
 
 /**
- * An {@link AbstractNavigableLongReferenceCache} whose values are held by instances of {@link SoftReference}.
+ * An {@link AbstractNavigableLongReferenceCache} whose values are held by instances of {@link SoftReference}. The
+ * mappings are kept in a B+-tree whose nodes store their keys in {@code long} arrays, so lookups and range scans touch
+ * far fewer cache lines than they would in a red-black tree of entries.
  * 
  * @author Matt Whitlock
  */
 public class NavigableLongSoftCache<V> extends AbstractNavigableLongReferenceCache<V, LongSoftCache.Entry<V>> {
 
+	private final LongEntryTreeMap<LongSoftCache.Entry<V>> tree;
+
 	public NavigableLongSoftCache() {
-		super(new TreeMap<>(entryComparator));
+		this(new LongEntryTreeMap<>());
+	}
+
+	private NavigableLongSoftCache(LongEntryTreeMap<LongSoftCache.Entry<V>> tree) {
+		super(tree);
+		this.tree = tree;
 	}
 
 	@Override
@@ -22,4 +30,14 @@ public class NavigableLongSoftCache<V> extends AbstractNavigableLongReferenceCac
 		return new LongSoftCache.Entry<>(key, value, queue);
 	}
 
+	@Override
+	protected LongSoftCache.Entry<V> getEntry(long key) {
+		return tree.getEntry(key);
+	}
+
+	@Override
+	protected LongSoftCache.Entry<V> removeEntry(long key) {
+		return tree.removeEntry(key);
+	}
+
 }
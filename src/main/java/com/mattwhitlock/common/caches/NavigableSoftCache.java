@@ -27,4 +27,14 @@ public class NavigableSoftCache<K, V> extends AbstractNavigableReferenceCache<K,
 		return new SoftCache.Entry<>(key, value, queue);
 	}
 
+	@Override
+	protected SoftCache.Entry<K, V> getEntry(Object key) {
+		return getEntryByReusableProbe(key);
+	}
+
+	@Override
+	protected SoftCache.Entry<K, V> removeEntry(Object key) {
+		return removeEntryByReusableProbe(key);
+	}
+
 }
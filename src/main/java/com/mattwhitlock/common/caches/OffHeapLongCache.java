@@ -0,0 +1,261 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * An {@link AbstractLongCache} that stores the encodings of its values outside of the Java heap, in direct
+ * {@link ByteBuffer} slabs managed by a slab allocator. Values are encoded by a {@link Codec} when they are put and
+ * are decoded anew each time they are retrieved. Only the index of the cache, which holds a small entry per mapping,
+ * resides on the heap, so the values add nothing to the work of the garbage collector.
+ * <p>
+ * The total size of the slabs is bounded. When a value cannot be stored without exceeding the bound, the least
+ * recently used mappings are evicted to make room, whatever the sizes of their encodings. A slab whose mappings have
+ * all been evicted is reassigned to whichever size class needs it, so the division of memory among size classes
+ * follows the sizes of the values in use. If no room can be made, then the value is not cached, and any existing
+ * mapping for its key is removed.
+ * 
+ * @author Matt Whitlock
+ */
+public class OffHeapLongCache<V> extends AbstractLongCache<V, OffHeapLongCache.Entry<V>> {
+
+	public static class Entry<V> implements AbstractLongCache.Entry<V> {
+
+		protected final long key;
+
+		protected final OffHeapLongCache<V> cache;
+
+		/**
+		 * The handle of the chunk holding the encoded value, or {@code -1} if this entry has been removed.
+		 */
+		long handle;
+
+		/**
+		 * The length of the encoded value.
+		 */
+		final int length;
+
+		/**
+		 * The neighbors of this entry in the recency list of its size class.
+		 */
+		Entry<V> prev, next;
+
+		/**
+		 * The value of the cache's clock when this entry was last used.
+		 */
+		long used;
+
+		protected Entry(long key, long handle, int length, OffHeapLongCache<V> cache) {
+			this.key = key;
+			this.handle = handle;
+			this.length = length;
+			this.cache = cache;
+		}
+
+		@Override
+		public long getLongKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return handle < 0 ? null : cache.codec.decode(cache.allocator.read(handle, length));
+		}
+
+		@Override
+		public void removedFrom(AbstractCache<Long, V, ?> cache) {
+			handle = -1;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return AbstractLongCache.Entry.equals(this, obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return AbstractLongCache.Entry.hashCode(this);
+		}
+
+		@Override
+		public String toString() {
+			return AbstractLongCache.Entry.toString(this);
+		}
+
+	}
+
+	private final LongEntryHashMap<Entry<V>> table;
+
+	private final Codec<V> codec;
+
+	private final SlabAllocator allocator;
+
+	/**
+	 * The sentinels of the circular recency lists of the size classes, each ordered from most to least recently used.
+	 */
+	private final Entry<V>[] heads;
+
+	/**
+	 * Counts uses of entries, so that the least recently used entries of different size classes can be compared.
+	 */
+	private long clock;
+
+	/**
+	 * Constructs an {@link OffHeapLongCache} that encodes values with the given {@link Codec} and stores them in slabs
+	 * of one mebibyte totaling at most {@code maximumBytes}.
+	 */
+	public OffHeapLongCache(Codec<V> codec, long maximumBytes) {
+		this(codec, maximumBytes, 1 << 20);
+	}
+
+	/**
+	 * Constructs an {@link OffHeapLongCache} that encodes values with the given {@link Codec} and stores them in slabs
+	 * of {@code slabSize} bytes, which must be a power of two, totaling at most {@code maximumBytes}. An encoded value
+	 * larger than a slab is stored in a buffer of its own.
+	 */
+	public OffHeapLongCache(Codec<V> codec, long maximumBytes, int slabSize) {
+		this(new LongEntryHashMap<>(), codec, new SlabAllocator(slabSize, maximumBytes));
+	}
+
+	@SuppressWarnings("unchecked")
+	private OffHeapLongCache(LongEntryHashMap<Entry<V>> table, Codec<V> codec, SlabAllocator allocator) {
+		super(table);
+		this.table = table;
+		this.codec = Objects.requireNonNull(codec);
+		this.allocator = allocator;
+		heads = (Entry<V>[]) new Entry<?>[allocator.sizeClasses() + 1];
+		for (int c = 0; c < heads.length; ++c) {
+			Entry<V> head = heads[c] = new Entry<>(0, -1, 0, null);
+			head.prev = head.next = head;
+		}
+	}
+
+	/**
+	 * Returns the number of off-heap bytes currently reserved by this cache.
+	 */
+	public long reservedBytes() {
+		return allocator.reserved();
+	}
+
+	/**
+	 * Encodes the given value into a newly allocated chunk and returns a new {@link Entry} referring to it, or returns
+	 * {@code null} if no chunk can be allocated even after evicting every mapping.
+	 */
+	@Override
+	protected Entry<V> newEntry(long key, V value) {
+		ByteBuffer encoded = codec.encode(value);
+		int length = encoded.remaining();
+		if (!allocator.fits(length)) {
+			return null;
+		}
+		int sizeClass = allocator.sizeClass(length);
+		long handle;
+		while ((handle = allocator.allocate(length)) < 0) {
+			Entry<V> victim = victim();
+			if (victim == null) {
+				return null;
+			}
+			expunge(victim, RemovalCause.EVICTED);
+		}
+		allocator.write(handle, encoded);
+		Entry<V> entry = new Entry<>(key, handle, length, this);
+		entry.used = ++clock;
+		link(entry, heads[sizeClass]);
+		return entry;
+	}
+
+	@Override
+	protected V lookup(long key) {
+		Entry<V> entry = table.getEntry(key);
+		if (entry == null) {
+			return recordLookup(null);
+		}
+		entry.used = ++clock;
+		Entry<V> head = heads[allocator.sizeClass(entry.length)];
+		if (head.next != entry) {
+			unlink(entry);
+			link(entry, head);
+		}
+		return recordLookup(entry.getValue());
+	}
+
+	/**
+	 * Maps the given key to the given value and returns the value to which the key was previously mapped. If the value
+	 * cannot be stored even after evicting every other mapping, then no mapping is put, and the key's existing mapping
+	 * is removed as {@linkplain RemovalCause#EVICTED evicted}.
+	 */
+	@Override
+	public V put(long key, V value) {
+		Objects.requireNonNull(value);
+		Entry<V> entry = newEntry(key, value);
+		if (entry == null) {
+			Entry<V> evicted = table.removeEntry(key);
+			if (evicted == null) {
+				return null;
+			}
+			V evictedValue = evicted.getValue();
+			removed(evicted, RemovalCause.EVICTED);
+			return evictedValue;
+		}
+		Entry<V> replaced = table.putEntry(entry);
+		recordPut();
+		if (replaced == null) {
+			return null;
+		}
+		V replacedValue = replaced.getValue();
+		removed(replaced, RemovalCause.REPLACED);
+		return replacedValue;
+	}
+
+	@Override
+	protected Entry<V> getEntry(long key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<V> removeEntry(long key) {
+		return table.removeEntry(key);
+	}
+
+	@Override
+	protected void removed(AbstractCache.Entry<Long, V> entry, RemovalCause cause) {
+		Entry<V> e = (Entry<V>) entry;
+		long handle = e.handle;
+		super.removed(entry, cause);
+		if (handle >= 0) {
+			unlink(e);
+			allocator.free(handle, e.length);
+		}
+	}
+
+	/**
+	 * Returns the least recently used entry of any size class, or {@code null} if this cache has no entries.
+	 */
+	private Entry<V> victim() {
+		Entry<V> victim = null;
+		for (Entry<V> head : heads) {
+			Entry<V> entry = head.prev;
+			if (entry != head && (victim == null || entry.used - victim.used < 0)) {
+				victim = entry;
+			}
+		}
+		return victim;
+	}
+
+	private static <V> void link(Entry<V> entry, Entry<V> head) {
+		entry.prev = head;
+		entry.next = head.next;
+		head.next.prev = entry;
+		head.next = entry;
+	}
+
+	private static <V> void unlink(Entry<V> entry) {
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+		entry.prev = entry.next = null;
+	}
+
+}
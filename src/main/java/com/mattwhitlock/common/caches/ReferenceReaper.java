@@ -0,0 +1,179 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.io.Closeable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A daemon thread that culls erased mappings from reference caches in the background, so that threads accessing the
+ * caches never have to. Any number of caches may share a single reaper. A cache is registered with a reaper by passing
+ * the reaper to the cache's constructor.
+ * <p>
+ * The reaper blocks on a {@link ReferenceQueue} shared by all of its caches and culls erased mappings in batches of
+ * bounded size. Because the reaper culls mappings concurrently with every other thread that accesses its caches, only
+ * caches that implement {@link ConcurrentMap} may be registered with a reaper. An exception or error thrown while
+ * culling mappings from one cache is reported to the reaper thread's uncaught exception handler and does not stop the
+ * reaper from culling mappings from its other caches.
+ * <p>
+ * A reaper other than the {@linkplain #shared() shared} one is stopped by {@linkplain #close() closing} it. Its caches
+ * remain usable afterward, culling their erased mappings when they are accessed, as caches without a reaper do.
+ * 
+ * @author Matt Whitlock
+ */
+public final class ReferenceReaper implements Closeable {
+
+	/**
+	 * A {@link Reference} that knows the cache from which it is to be culled.
+	 */
+	public interface Reapable {
+
+		/**
+		 * Returns the cache that holds this reference.
+		 */
+		AbstractCache<?, ?, ?> cache();
+
+	}
+
+	private static ReferenceReaper shared;
+
+	final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	private final Reference<?>[] batch;
+
+	private final Thread thread;
+
+	private volatile boolean closed;
+
+	/**
+	 * Constructs a {@link ReferenceReaper} that culls at most {@code batchSize} erased mappings at a time and starts its
+	 * daemon thread. The reaper should be {@linkplain #close() closed} when it is no longer needed.
+	 */
+	public ReferenceReaper(int batchSize) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be positive");
+		}
+		batch = new Reference<?>[batchSize];
+		thread = new Thread(this::run, "ReferenceReaper");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Returns the shared {@link ReferenceReaper}, starting it if it has not yet been started.
+	 */
+	public static synchronized ReferenceReaper shared() {
+		return shared == null ? shared = new ReferenceReaper(1024) : shared;
+	}
+
+	/**
+	 * Registers the given cache with this reaper and returns the queue with which the cache's entries are to be
+	 * registered.
+	 * 
+	 * @throws IllegalArgumentException if the given cache does not implement {@link ConcurrentMap}.
+	 * @throws IllegalStateException if this reaper has been closed.
+	 */
+	ReferenceQueue<Object> register(AbstractCache<?, ?, ?> cache) {
+		if (!(cache instanceof ConcurrentMap<?, ?>)) {
+			throw new IllegalArgumentException("a ReferenceReaper may cull only from a ConcurrentMap");
+		}
+		if (closed) {
+			throw new IllegalStateException("ReferenceReaper is closed");
+		}
+		return queue;
+	}
+
+	/**
+	 * Stops this reaper's thread and waits for it to finish culling its current batch, then culls any erased mappings
+	 * that remain queued. Thereafter, the caches of this reaper cull their own erased mappings when they are accessed,
+	 * and no cache may be registered with this reaper. Closing a closed reaper has no effect.
+	 * 
+	 * @throws UnsupportedOperationException if this is the {@linkplain #shared() shared} reaper.
+	 */
+	@Override
+	public void close() {
+		synchronized (ReferenceReaper.class) {
+			if (this == shared) {
+				throw new UnsupportedOperationException("the shared ReferenceReaper cannot be closed");
+			}
+		}
+		closed = true;
+		thread.interrupt();
+		boolean interrupted = false;
+		for (;;) {
+			try {
+				thread.join();
+				break;
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		reapIfClosed();
+	}
+
+	/**
+	 * Culls the erased mappings that are queued, on the calling thread, if this reaper has been closed. A cache
+	 * registered with this reaper calls this method wherever a cache without a reaper would cull its erased mappings.
+	 */
+	void reapIfClosed() {
+		if (!closed) {
+			return;
+		}
+		Reference<?> ref = queue.poll();
+		if (ref == null) {
+			return;
+		}
+		Reference<?>[] batch = new Reference<?>[this.batch.length];
+		int n = 0;
+		do {
+			batch[n++] = ref;
+			if (n == batch.length) {
+				reap(batch, n);
+				n = 0;
+			}
+		} while ((ref = queue.poll()) != null);
+		reap(batch, n);
+	}
+
+	private void run() {
+		while (!closed) {
+			int n = 0;
+			try {
+				batch[n++] = queue.remove();
+			}
+			catch (InterruptedException e) {
+				continue;
+			}
+			for (Reference<?> ref; n < batch.length && (ref = queue.poll()) != null;) {
+				batch[n++] = ref;
+			}
+			reap(batch, n);
+		}
+	}
+
+	private static void reap(Reference<?>[] batch, int n) {
+		for (int i = 0, j; i < n; i = j) {
+			AbstractCache<?, ?, ?> cache = ((Reapable) batch[i]).cache();
+			for (j = i + 1; j < n && ((Reapable) batch[j]).cache() == cache;) {
+				++j;
+			}
+			try {
+				cache.reap(batch, i, j);
+			}
+			catch (Throwable t) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+			}
+		}
+		Arrays.fill(batch, 0, n, null);
+	}
+
+}
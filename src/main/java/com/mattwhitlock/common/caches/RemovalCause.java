@@ -0,0 +1,39 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * The reason for which a mapping was removed from an {@link AbstractCache}.
+ * 
+ * @author Matt Whitlock
+ */
+public enum RemovalCause {
+
+	/**
+	 * The mapping was removed explicitly, such as by {@link AbstractCache#remove(Object)}, by
+	 * {@link AbstractCache#clear()}, or through an iterator.
+	 */
+	EXPLICIT,
+
+	/**
+	 * The mapping was replaced by a new mapping for the same key.
+	 */
+	REPLACED,
+
+	/**
+	 * The mapping's value was erased by the garbage collector.
+	 */
+	COLLECTED,
+
+	/**
+	 * The mapping was evicted by the cache's eviction policy.
+	 */
+	EVICTED,
+
+	/**
+	 * The mapping outlived its time to live.
+	 */
+	EXPIRED
+
+}
@@ -0,0 +1,21 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * Receives notifications of mappings that have been removed from an {@link AbstractCache}.
+ * 
+ * @author Matt Whitlock
+ * @see AbstractCache#setRemovalListener(RemovalListener, java.util.concurrent.Executor)
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+	/**
+	 * Notifies this listener that the mapping of the given key to the given value was removed for the given cause.
+	 * The value is {@code null} if it was erased by the garbage collector before the mapping was removed.
+	 */
+	void onRemoval(K key, V value, RemovalCause cause);
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers removal notifications of an {@link AbstractCache} to a {@link RemovalListener} by way of an
+ * {@link Executor}, so that the listener never runs on the thread that removed the mapping unless the executor so
+ * chooses.
+ * 
+ * @author Matt Whitlock
+ */
+final class RemovalNotifier<K, V> {
+
+	private final RemovalListener<? super K, ? super V> listener;
+
+	private final Executor executor;
+
+	RemovalNotifier(RemovalListener<? super K, ? super V> listener, Executor executor) {
+		this.listener = listener;
+		this.executor = executor;
+	}
+
+	/**
+	 * Submits a notification to the listener. If the executor rejects the notification, then the rejection is reported
+	 * to the current thread's uncaught exception handler, and the removal proceeds regardless.
+	 */
+	void notify(K key, V value, RemovalCause cause) {
+		try {
+			executor.execute(() -> listener.onRemoval(key, value, cause));
+		}
+		catch (RuntimeException e) {
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		}
+	}
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Allocates chunks of memory from direct {@link ByteBuffer} slabs. Chunks are sized in powers of two, from 64 bytes up
+ * to the size of a slab, and each slab is carved into chunks of a single size class when that class first needs it.
+ * Freed chunks are kept on a free list for their size class, so that allocating and freeing take constant time. A
+ * chunk larger than a slab is allocated in a dedicated buffer, which is released when the chunk is freed.
+ * <p>
+ * When every chunk of a slab has been freed, the slab is withdrawn from its size class and kept as a spare, which the
+ * next size class to need a slab carves anew. Spare slabs remain reserved until a dedicated buffer needs their room.
+ * Thus memory moves between size classes as the sizes of the allocated chunks change, but only a whole slab at a time,
+ * so the caller must free every chunk of a slab before any other size class can use it.
+ * <p>
+ * A chunk is identified by a handle whose upper 32 bits are the index of its slab and whose lower 32 bits are its
+ * offset within the slab.
+ * 
+ * @author Matt Whitlock
+ */
+final class SlabAllocator {
+
+	private static final int MINIMUM_CHUNK_SHIFT = 6;
+
+	private final int slabShift;
+
+	private final long capacity;
+
+	private long reserved;
+
+	private ByteBuffer[] slabs = new ByteBuffer[16];
+
+	/**
+	 * The number of allocated chunks in each slab.
+	 */
+	private int[] slabChunks = new int[16];
+
+	private int slabCount;
+
+	/**
+	 * The indices of the elements of {@link #slabs} that are unused.
+	 */
+	private int[] freeSlabs = new int[0];
+
+	private int freeSlabCount;
+
+	/**
+	 * The indices of the slabs that belong to no size class.
+	 */
+	private int[] spareSlabs = new int[0];
+
+	private int spareSlabCount;
+
+	/**
+	 * The free chunks of each size class.
+	 */
+	private final long[][] freeChunks;
+
+	private final int[] freeChunkCounts;
+
+	/**
+	 * The handle of the next uncarved chunk of each size class, or {@code -1} if the class has no partially carved slab.
+	 */
+	private final long[] carving;
+
+	/**
+	 * Constructs a {@link SlabAllocator} whose slabs are {@code slabSize} bytes, which must be a power of two of at
+	 * least 64, and whose slabs and dedicated buffers together total at most {@code capacity} bytes.
+	 */
+	SlabAllocator(int slabSize, long capacity) {
+		if (slabSize < 1 << MINIMUM_CHUNK_SHIFT || Integer.bitCount(slabSize) != 1) {
+			throw new IllegalArgumentException("slabSize must be a power of two of at least " + (1 << MINIMUM_CHUNK_SHIFT));
+		}
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity must not be negative");
+		}
+		slabShift = Integer.numberOfTrailingZeros(slabSize);
+		this.capacity = capacity;
+		int classes = sizeClasses();
+		freeChunks = new long[classes][];
+		for (int c = 0; c < classes; ++c) {
+			freeChunks[c] = new long[0];
+		}
+		freeChunkCounts = new int[classes];
+		carving = new long[classes];
+		Arrays.fill(carving, -1);
+	}
+
+	/**
+	 * Returns the number of size classes that are carved from slabs. A chunk whose size class is this number is
+	 * allocated in a dedicated buffer.
+	 */
+	int sizeClasses() {
+		return slabShift - MINIMUM_CHUNK_SHIFT + 1;
+	}
+
+	/**
+	 * Returns the size class of a chunk of the given length.
+	 */
+	int sizeClass(int length) {
+		int c = length <= 1 << MINIMUM_CHUNK_SHIFT ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1) - MINIMUM_CHUNK_SHIFT;
+		return Math.min(c, sizeClasses());
+	}
+
+	/**
+	 * Returns the number of bytes reserved by slabs and dedicated buffers.
+	 */
+	long reserved() {
+		return reserved;
+	}
+
+	/**
+	 * Returns whether a chunk of the given length could be allocated if every other chunk were freed.
+	 */
+	boolean fits(int length) {
+		return (sizeClass(length) == sizeClasses() ? length : 1L << slabShift) <= capacity;
+	}
+
+	/**
+	 * Returns the handle of a new chunk of at least the given length, or {@code -1} if the chunk cannot be allocated
+	 * without exceeding the capacity of this allocator.
+	 */
+	long allocate(int length) {
+		int c = sizeClass(length);
+		if (c == sizeClasses()) {
+			if (!reserve(length)) {
+				return -1;
+			}
+			return (long) addSlab(ByteBuffer.allocateDirect(length)) << 32;
+		}
+		long handle;
+		if (freeChunkCounts[c] > 0) {
+			handle = freeChunks[c][--freeChunkCounts[c]];
+		}
+		else {
+			if ((handle = carving[c]) < 0) {
+				int slabSize = 1 << slabShift, slab;
+				if (spareSlabCount > 0) {
+					slab = spareSlabs[--spareSlabCount];
+				}
+				else if (reserve(slabSize)) {
+					slab = addSlab(ByteBuffer.allocateDirect(slabSize));
+				}
+				else {
+					return -1;
+				}
+				handle = (long) slab << 32;
+			}
+			int chunkSize = 1 << c + MINIMUM_CHUNK_SHIFT;
+			carving[c] = (int) handle + chunkSize < 1 << slabShift ? handle + chunkSize : -1;
+		}
+		++slabChunks[(int) (handle >>> 32)];
+		return handle;
+	}
+
+	/**
+	 * Frees the chunk having the given handle, which was allocated with the given length.
+	 */
+	void free(long handle, int length) {
+		int c = sizeClass(length), slab = (int) (handle >>> 32);
+		if (c == sizeClasses()) {
+			removeSlab(slab);
+			return;
+		}
+		if (--slabChunks[slab] == 0) {
+			withdrawSlab(slab, c);
+			return;
+		}
+		long[] chunks = freeChunks[c];
+		if (freeChunkCounts[c] == chunks.length) {
+			freeChunks[c] = chunks = Arrays.copyOf(chunks, Math.max(16, chunks.length * 2));
+		}
+		chunks[freeChunkCounts[c]++] = handle;
+	}
+
+	/**
+	 * Copies the remaining bytes of the given buffer into the chunk having the given handle.
+	 */
+	void write(long handle, ByteBuffer src) {
+		ByteBuffer dst = slabs[(int) (handle >>> 32)].duplicate();
+		((Buffer) dst).position((int) handle);
+		dst.put(src);
+	}
+
+	/**
+	 * Returns a read-only buffer whose remaining bytes are the first {@code length} bytes of the chunk having the given
+	 * handle.
+	 */
+	ByteBuffer read(long handle, int length) {
+		ByteBuffer buffer = slabs[(int) (handle >>> 32)].asReadOnlyBuffer();
+		((Buffer) buffer).limit((int) handle + length).position((int) handle);
+		return buffer;
+	}
+
+	/**
+	 * Adds the given number of bytes to the reservation of this allocator, first releasing spare slabs as needed, or
+	 * returns {@code false} if the reservation would still exceed the capacity of this allocator.
+	 */
+	private boolean reserve(long bytes) {
+		while (reserved + bytes > capacity) {
+			if (spareSlabCount == 0) {
+				return false;
+			}
+			removeSlab(spareSlabs[--spareSlabCount]);
+		}
+		reserved += bytes;
+		return true;
+	}
+
+	private int addSlab(ByteBuffer slab) {
+		int index;
+		if (freeSlabCount > 0) {
+			index = freeSlabs[--freeSlabCount];
+		}
+		else {
+			if (slabCount == slabs.length) {
+				slabs = Arrays.copyOf(slabs, slabCount * 2);
+				slabChunks = Arrays.copyOf(slabChunks, slabCount * 2);
+			}
+			index = slabCount++;
+		}
+		slabs[index] = slab;
+		slabChunks[index] = 0;
+		return index;
+	}
+
+	/**
+	 * Releases the buffer of the given slab and its reservation.
+	 */
+	private void removeSlab(int slab) {
+		reserved -= slabs[slab].capacity();
+		slabs[slab] = null;
+		if (freeSlabCount == freeSlabs.length) {
+			freeSlabs = Arrays.copyOf(freeSlabs, Math.max(8, freeSlabCount * 2));
+		}
+		freeSlabs[freeSlabCount++] = slab;
+	}
+
+	/**
+	 * Withdraws the given slab, none of whose chunks are allocated, from the given size class and keeps it as a spare.
+	 */
+	private void withdrawSlab(int slab, int c) {
+		long[] chunks = freeChunks[c];
+		int n = 0;
+		for (int i = 0, count = freeChunkCounts[c]; i < count; ++i) {
+			if ((int) (chunks[i] >>> 32) != slab) {
+				chunks[n++] = chunks[i];
+			}
+		}
+		freeChunkCounts[c] = n;
+		if (carving[c] >= 0 && (int) (carving[c] >>> 32) == slab) {
+			carving[c] = -1;
+		}
+		if (spareSlabCount == spareSlabs.length) {
+			spareSlabs = Arrays.copyOf(spareSlabs, Math.max(8, spareSlabCount * 2));
+		}
+		spareSlabs[spareSlabCount++] = slab;
+	}
+
+}
@@ -5,7 +5,6 @@ package com.mattwhitlock.common.caches;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
 
 /**
  * An {@link AbstractReferenceCache} whose values are held by instances of {@link SoftReference}.
@@ -55,8 +54,35 @@ public class SoftCache<K, V> extends AbstractReferenceCache<K, V, SoftCache.Entr
 
 	}
 
+	/**
+	 * An {@link Entry} that is culled by a {@link ReferenceReaper}, for use by {@link ConcurrentSoftCache} and
+	 * {@link ConcurrentNavigableSoftCache}.
+	 */
+	public static class ReapableEntry<K, V> extends Entry<K, V> implements ReferenceReaper.Reapable {
+
+		protected final AbstractCache<K, V, ?> cache;
+
+		protected ReapableEntry(K key, V value, ReferenceQueue<? super V> queue, AbstractCache<K, V, ?> cache) {
+			super(key, value, queue);
+			this.cache = cache;
+		}
+
+		@Override
+		public AbstractCache<K, V, ?> cache() {
+			return cache;
+		}
+
+	}
+
+	private final EntryHashMap<K, Entry<K, V>> table;
+
 	public SoftCache() {
-		super(new HashMap<>());
+		this(new EntryHashMap<>());
+	}
+
+	private SoftCache(EntryHashMap<K, Entry<K, V>> table) {
+		super(table);
+		this.table = table;
 	}
 
 	@Override
@@ -64,4 +90,14 @@ public class SoftCache<K, V> extends AbstractReferenceCache<K, V, SoftCache.Entr
 		return new Entry<>(key, value, queue);
 	}
 
+	@Override
+	protected Entry<K, V> getEntry(Object key) {
+		return table.getEntry(key);
+	}
+
+	@Override
+	protected Entry<K, V> removeEntry(Object key) {
+		return table.removeEntry(key);
+	}
+
 }
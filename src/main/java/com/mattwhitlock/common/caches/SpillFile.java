@@ -0,0 +1,205 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An append-only file of records, accessed through memory-mapped segments of a fixed size. A record never spans two
+ * segments, so a record can be read as a single slice of a {@link MappedByteBuffer}, and a record larger than a segment
+ * cannot be appended. Nor can a record be appended past a maximum size of the file, so the file's disk space and the
+ * address space of its mappings are bounded. The owner of the file reclaims the space of dead records by
+ * {@linkplain #reset() resetting} the file and {@linkplain #move(long, int) moving} the live records toward its start.
+ * <p>
+ * The segments are unmapped when the file is closed, if the runtime permits it, rather than whenever the garbage
+ * collector reclaims them.
+ * 
+ * @author Matt Whitlock
+ */
+final class SpillFile implements Closeable {
+
+	/**
+	 * Unmaps a {@link MappedByteBuffer}, or {@code null} if the runtime offers no way to do so.
+	 */
+	private static final MethodHandle unmapper = findUnmapper();
+
+	private final FileChannel channel;
+
+	final int segmentSize;
+
+	final long maximumBytes;
+
+	private MappedByteBuffer[] segments = new MappedByteBuffer[8];
+
+	/**
+	 * The position at which the next record will be appended.
+	 */
+	private long position;
+
+	/**
+	 * Creates or truncates the file at the given path and opens it for appending records, up to {@code maximumBytes}
+	 * bytes in all.
+	 */
+	SpillFile(Path path, int segmentSize, long maximumBytes) throws IOException {
+		if (segmentSize <= 0) {
+			throw new IllegalArgumentException("segmentSize must be positive");
+		}
+		if (maximumBytes <= 0) {
+			throw new IllegalArgumentException("maximumBytes must be positive");
+		}
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.segmentSize = segmentSize;
+		this.maximumBytes = maximumBytes;
+	}
+
+	/**
+	 * Appends the remaining bytes of the given buffer as a new record and returns the position of the record, or
+	 * returns {@code -1} if the record is larger than a segment or would extend the file past its maximum size.
+	 */
+	long append(ByteBuffer src) throws IOException {
+		long start = allocate(src.remaining());
+		if (start >= 0) {
+			ByteBuffer dst = segment(start).duplicate();
+			((Buffer) dst).position((int) (start % segmentSize));
+			dst.put(src);
+		}
+		return start;
+	}
+
+	/**
+	 * Appends a copy of the record of the given length at the given position, which must be no less than the position
+	 * at which the next record will be appended, and returns the position of the copy. The live records of a file that
+	 * has been {@linkplain #reset() reset} can thus be compacted by moving them in order of position, as the copy of a
+	 * record is never appended past the original.
+	 */
+	long move(long from, int length) throws IOException {
+		byte[] record = new byte[length];
+		read(from, length).get(record);
+		long to = allocate(length);
+		ByteBuffer dst = segment(to).duplicate();
+		((Buffer) dst).position((int) (to % segmentSize));
+		dst.put(record);
+		return to;
+	}
+
+	private long allocate(int length) {
+		if (length > segmentSize) {
+			return -1;
+		}
+		long start = position;
+		if (start % segmentSize + length > segmentSize) {
+			start += segmentSize - start % segmentSize;
+		}
+		if (start + length > maximumBytes) {
+			return -1;
+		}
+		position = start + length;
+		return start;
+	}
+
+	/**
+	 * Returns a read-only buffer whose remaining bytes are the record of the given length at the given position.
+	 */
+	ByteBuffer read(long position, int length) {
+		ByteBuffer buffer = segments[(int) (position / segmentSize)].asReadOnlyBuffer();
+		int offset = (int) (position % segmentSize);
+		((Buffer) buffer).limit(offset + length).position(offset);
+		return buffer;
+	}
+
+	/**
+	 * Discards all records, so that the next record is appended at the start of the file. Records that were read
+	 * before this method was called must no longer be used.
+	 */
+	void reset() {
+		position = 0;
+	}
+
+	/**
+	 * Unmaps the segments and closes the file. Records that were read before this method was called must no longer be
+	 * used.
+	 */
+	@Override
+	public void close() throws IOException {
+		MappedByteBuffer[] segments = this.segments;
+		this.segments = new MappedByteBuffer[0];
+		try {
+			for (MappedByteBuffer segment : segments) {
+				if (segment != null) {
+					unmap(segment);
+				}
+			}
+		}
+		finally {
+			channel.close();
+		}
+	}
+
+	private MappedByteBuffer segment(long position) throws IOException {
+		int index = (int) (position / segmentSize);
+		if (index >= segments.length) {
+			segments = Arrays.copyOf(segments, Math.max(index + 1, segments.length * 2));
+		}
+		MappedByteBuffer segment = segments[index];
+		if (segment == null) {
+			long start = (long) index * segmentSize;
+			segments[index] = segment = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(segmentSize, maximumBytes - start));
+		}
+		return segment;
+	}
+
+	private static void unmap(MappedByteBuffer buffer) {
+		if (unmapper == null) {
+			return;
+		}
+		try {
+			unmapper.invokeExact((ByteBuffer) buffer);
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new AssertionError(t);
+		}
+	}
+
+	/**
+	 * Returns a handle to {@code sun.misc.Unsafe.invokeCleaner(ByteBuffer)} on Java 9 and later, or to the cleaner of
+	 * a {@code sun.nio.ch.DirectBuffer} on Java 8, or {@code null} if neither is accessible.
+	 */
+	private static MethodHandle findUnmapper() {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			return lookup.findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class)).bindTo(theUnsafe.get(null));
+		}
+		catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			// Java 8 lacks Unsafe.invokeCleaner, so fall back to the cleaner of the buffer.
+		}
+		try {
+			Class<?> directBufferClass = Class.forName("sun.nio.ch.DirectBuffer"), cleanerClass = Class.forName("sun.misc.Cleaner");
+			MethodHandle cleaner = lookup.findVirtual(directBufferClass, "cleaner", MethodType.methodType(cleanerClass));
+			MethodHandle clean = lookup.findVirtual(cleanerClass, "clean", MethodType.methodType(void.class));
+			return MethodHandles.filterReturnValue(cleaner, clean).asType(MethodType.methodType(void.class, ByteBuffer.class));
+		}
+		catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			return null;
+		}
+	}
+
+}
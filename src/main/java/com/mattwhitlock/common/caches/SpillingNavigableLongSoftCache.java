@@ -0,0 +1,217 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * A {@link NavigableLongSoftCache} backed by a second tier on disk. Every value that is put is also encoded by a
+ * {@link Codec} and appended to a memory-mapped file. When the garbage collector erases a value, its mapping remains in
+ * the cache, and the value is decoded from the file when it is next retrieved. Navigation, such as
+ * {@link #floorEntry(long)} and {@link #subMap(long, boolean, long, boolean)}, thus sees the mappings of both tiers.
+ * <p>
+ * The file is append-only up to a maximum size. When a value would not fit, and at least half of the file is taken
+ * by the records of replaced and removed values, the live records are compacted toward the start of the file;
+ * otherwise, the value is held only softly. A value whose encoding is larger than a segment of the file is likewise
+ * held only softly.
+ * 
+ * @author Matt Whitlock
+ */
+public class SpillingNavigableLongSoftCache<V> extends NavigableLongSoftCache<V> implements Closeable {
+
+	public static class Entry<V> extends LongSoftCache.Entry<V> {
+
+		protected final SpillingNavigableLongSoftCache<V> cache;
+
+		/**
+		 * The position of this entry's record in the spill file, or {@code -1} if the value was not spilled or this
+		 * entry has been removed.
+		 */
+		long position;
+
+		/**
+		 * The length of this entry's record in the spill file.
+		 */
+		final int length;
+
+		protected Entry(long key, V value, ReferenceQueue<? super V> queue, SpillingNavigableLongSoftCache<V> cache, long position, int length) {
+			super(key, value, queue);
+			this.cache = cache;
+			this.position = position;
+			this.length = length;
+		}
+
+		/**
+		 * Returns the value of this entry, decoding it from the spill file if it has been erased from the heap.
+		 */
+		@Override
+		public V getValue() {
+			V value = get();
+			return value != null || position < 0 ? value : cache.codec.decode(cache.file.read(position, length));
+		}
+
+		@Override
+		public void removedFrom(AbstractCache<Long, V, ?> cache) {
+			if (position >= 0) {
+				position = -1;
+				this.cache.liveBytes -= length;
+			}
+			super.removedFrom(cache);
+		}
+
+	}
+
+	private final SpillFile file;
+
+	private final Codec<V> codec;
+
+	/**
+	 * The total length of the records of the entries in this cache.
+	 */
+	long liveBytes;
+
+	/**
+	 * Constructs a {@link SpillingNavigableLongSoftCache} that spills values encoded by the given {@link Codec} to the
+	 * file at the given path, which is created or truncated, mapping the file in segments of 64 mebibytes.
+	 */
+	public SpillingNavigableLongSoftCache(Path path, Codec<V> codec) throws IOException {
+		this(path, codec, 1 << 26);
+	}
+
+	/**
+	 * Constructs a {@link SpillingNavigableLongSoftCache} that spills values encoded by the given {@link Codec} to the
+	 * file at the given path, which is created or truncated, mapping the file in segments of {@code segmentSize} bytes.
+	 * The file may grow without bound.
+	 */
+	public SpillingNavigableLongSoftCache(Path path, Codec<V> codec, int segmentSize) throws IOException {
+		this(path, codec, segmentSize, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Constructs a {@link SpillingNavigableLongSoftCache} that spills values encoded by the given {@link Codec} to the
+	 * file at the given path, which is created or truncated, mapping the file in segments of {@code segmentSize} bytes
+	 * and letting it grow to at most {@code maximumBytes} bytes.
+	 */
+	public SpillingNavigableLongSoftCache(Path path, Codec<V> codec, int segmentSize, long maximumBytes) throws IOException {
+		this.file = new SpillFile(path, segmentSize, maximumBytes);
+		this.codec = codec;
+	}
+
+	/**
+	 * Constructs a new {@link Entry} and appends its encoded value to the spill file, compacting the file first if the
+	 * value would not fit but would after compaction.
+	 * 
+	 * @throws UncheckedIOException if the value cannot be written to the spill file.
+	 */
+	@Override
+	protected LongSoftCache.Entry<V> newEntry(long key, V value) {
+		ByteBuffer encoded = codec.encode(value);
+		int length = encoded.remaining();
+		try {
+			long position = file.append(encoded);
+			if (position < 0 && length <= file.segmentSize && liveBytes + length <= file.maximumBytes / 2) {
+				compact();
+				position = file.append(encoded);
+			}
+			if (position >= 0) {
+				liveBytes += length;
+			}
+			return new Entry<>(key, value, queue, this, position, length);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Moves the records of the entries in this cache to the start of the spill file, reclaiming the space of the
+	 * records of replaced and removed values.
+	 */
+	@SuppressWarnings("unchecked")
+	private void compact() throws IOException {
+		ArrayList<Entry<V>> spilled = new ArrayList<>();
+		for (LongSoftCache.Entry<V> entry : map.values()) {
+			if (entry instanceof Entry<?> && ((Entry<V>) entry).position >= 0) {
+				spilled.add((Entry<V>) entry);
+			}
+		}
+		spilled.sort(Comparator.comparingLong(entry -> entry.position));
+		file.reset();
+		for (Entry<V> entry : spilled) {
+			entry.position = file.move(entry.position, entry.length);
+		}
+	}
+
+	/**
+	 * Returns the value to which the given key is mapped. If the value was erased from the heap, then it is decoded
+	 * from the spill file, and the erased entry is silently replaced by a new entry that holds the decoded value softly
+	 * and refers to the same record. The promotion is not counted as a put, and no removal is reported.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected V lookup(long key) {
+		LongSoftCache.Entry<V> entry = getEntry(key);
+		if (entry == null) {
+			return recordLookup(null);
+		}
+		V value = entry.get();
+		if (value == null && entry instanceof Entry<?> && ((Entry<V>) entry).position >= 0) {
+			Entry<V> spilled = (Entry<V>) entry;
+			Entry<V> promoted = new Entry<>(key, value = spilled.getValue(), queue, this, spilled.position, spilled.length);
+			// The erased entry is left on the reference queue, where its position keeps it from being culled.
+			map.put(promoted, promoted);
+		}
+		return recordLookup(value);
+	}
+
+	/**
+	 * Removes all mappings from this cache and discards the contents of the spill file.
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		file.reset();
+		liveBytes = 0;
+	}
+
+	/**
+	 * Removes all mappings from this cache and closes the spill file. This cache must not be used afterward.
+	 */
+	@Override
+	public void close() throws IOException {
+		super.clear();
+		file.close();
+	}
+
+	/**
+	 * Culls erased entries whose values were not spilled. Entries whose values were spilled remain in this cache.
+	 */
+	@Override
+	protected void processQueue() {
+		Reference<?> ref = queue.poll();
+		if (ref == null) {
+			return;
+		}
+		Object event = CacheEvents.beginReap();
+		int count = 0;
+		do {
+			@SuppressWarnings("unchecked")
+			Entry<V> entry = (Entry<V>) ref;
+			if (entry.position < 0) {
+				expunge(entry, RemovalCause.COLLECTED);
+				++count;
+			}
+		} while ((ref = queue.poll()) != null);
+		CacheEvents.endReap(event, this, count);
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the statistics of an {@link AbstractCache}. The counters are {@link LongAdder}s, so that recording is
+ * cheap even when many threads access a thread-safe cache at once.
+ * 
+ * @author Matt Whitlock
+ */
+final class StatsCounter {
+
+	private static final RemovalCause[] causes = RemovalCause.values();
+
+	final LongAdder hits = new LongAdder(), misses = new LongAdder(), puts = new LongAdder();
+	private final LongAdder[] removals = new LongAdder[causes.length];
+
+	StatsCounter() {
+		for (int i = 0; i < removals.length; ++i) {
+			removals[i] = new LongAdder();
+		}
+	}
+
+	void recordRemoval(RemovalCause cause) {
+		removals[cause.ordinal()].increment();
+	}
+
+	CacheStats snapshot() {
+		long[] removalCounts = new long[removals.length];
+		for (int i = 0; i < removals.length; ++i) {
+			removalCounts[i] = removals[i].sum();
+		}
+		return new CacheStats(hits.sum(), misses.sum(), puts.sum(), removalCounts);
+	}
+
+}
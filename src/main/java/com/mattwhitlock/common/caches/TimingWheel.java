@@ -0,0 +1,122 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel that schedules the expiration of {@link ExpiringSoftCache.Entry} objects. Scheduling,
+ * rescheduling, and cancelling an entry each take constant time, and advancing the wheel visits only the buckets whose
+ * time has come, so the cost of expiration does not grow with the number of scheduled entries.
+ * <p>
+ * Each level of the wheel has 64 buckets, and each bucket of a level spans 64 times as long as a bucket of the level
+ * below it. The lowest level has a resolution of 2<sup>24</sup> nanoseconds (about 17 milliseconds). An entry is placed
+ * in the lowest level whose range covers its expiration time. When the wheel advances past a bucket, the entries in
+ * the bucket that have expired are passed to the consumer given at construction, and the rest are cascaded into lower
+ * levels.
+ * 
+ * @author Matt Whitlock
+ */
+final class TimingWheel<K, V> {
+
+	private static final int[] shifts = { 24, 30, 36, 42, 48 };
+
+	private static final int BUCKETS = 64;
+
+	private final ExpiringSoftCache.Entry<K, V>[][] wheel;
+
+	private final Consumer<? super ExpiringSoftCache.Entry<K, V>> expired;
+
+	/**
+	 * The time, in nanoseconds, to which this wheel has been advanced.
+	 */
+	private long nanos;
+
+	@SuppressWarnings("unchecked")
+	TimingWheel(long nanos, Consumer<? super ExpiringSoftCache.Entry<K, V>> expired) {
+		this.nanos = nanos;
+		this.expired = expired;
+		wheel = (ExpiringSoftCache.Entry<K, V>[][]) new ExpiringSoftCache.Entry<?, ?>[shifts.length][BUCKETS];
+		for (ExpiringSoftCache.Entry<K, V>[] buckets : wheel) {
+			for (int i = 0; i < buckets.length; ++i) {
+				ExpiringSoftCache.Entry<K, V> sentinel = buckets[i] = new ExpiringSoftCache.Entry<>(null, null, null, null);
+				sentinel.prev = sentinel.next = sentinel;
+			}
+		}
+	}
+
+	/**
+	 * Schedules the given entry, which must not be scheduled already, to expire at its {@code expiresAt} time.
+	 */
+	void schedule(ExpiringSoftCache.Entry<K, V> entry) {
+		ExpiringSoftCache.Entry<K, V> sentinel = bucket(entry.expiresAt);
+		entry.prev = sentinel.prev;
+		entry.next = sentinel;
+		sentinel.prev.next = entry;
+		sentinel.prev = entry;
+	}
+
+	/**
+	 * Reschedules the given entry to expire at its {@code expiresAt} time.
+	 */
+	void reschedule(ExpiringSoftCache.Entry<K, V> entry) {
+		if (entry.next != null) {
+			unlink(entry);
+		}
+		schedule(entry);
+	}
+
+	/**
+	 * Cancels the scheduled expiration of the given entry, which must be scheduled.
+	 */
+	void unlink(ExpiringSoftCache.Entry<K, V> entry) {
+		entry.prev.next = entry.next;
+		entry.next.prev = entry.prev;
+		entry.prev = entry.next = null;
+	}
+
+	/**
+	 * Advances this wheel to the given time, passing every scheduled entry that expires at or before that time to the
+	 * consumer given at construction.
+	 */
+	void advance(long now) {
+		long previous = nanos;
+		nanos = now;
+		for (int level = 0; level < shifts.length; ++level) {
+			long previousTicks = previous >> shifts[level], delta = (now >> shifts[level]) - previousTicks;
+			if (delta <= 0) {
+				break;
+			}
+			ExpiringSoftCache.Entry<K, V>[] buckets = wheel[level];
+			for (int i = (int) previousTicks, steps = (int) Math.min(delta + 1, BUCKETS); steps > 0; ++i, --steps) {
+				ExpiringSoftCache.Entry<K, V> sentinel = buckets[i & BUCKETS - 1], entry = sentinel.next;
+				sentinel.prev = sentinel.next = sentinel;
+				while (entry != sentinel) {
+					ExpiringSoftCache.Entry<K, V> next = entry.next;
+					entry.prev = entry.next = null;
+					if (entry.expiresAt - now <= 0) {
+						expired.accept(entry);
+					}
+					else {
+						schedule(entry);
+					}
+					entry = next;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the sentinel of the bucket in which an entry expiring at the given time belongs.
+	 */
+	private ExpiringSoftCache.Entry<K, V> bucket(long time) {
+		long duration = time - nanos;
+		int level = 0;
+		while (level < shifts.length - 1 && duration >= 1L << shifts[level + 1]) {
+			++level;
+		}
+		return wheel[level][(int) (time >> shifts[level]) & BUCKETS - 1];
+	}
+
+}
@@ -0,0 +1,22 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.caches;
+
+/**
+ * Computes the weight of a mapping, such as the approximate number of bytes its value occupies, for a cache that
+ * bounds the total weight of its mappings.
+ * 
+ * @author Matt Whitlock
+ * @see LruSoftCache#LruSoftCache(long, Weigher)
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+	/**
+	 * Returns the weight of the mapping of the given key to the given value, which must not be negative. The weight
+	 * of a mapping is computed once, when the mapping is put.
+	 */
+	int weigh(K key, V value);
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.AsyncCache;
+import com.mattwhitlock.common.caches.SoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class AsyncCacheTest {
+
+	@Test
+	public void testSingleFlight() {
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		AsyncCache<String, String> cache = new AsyncCache<>(tasks::add);
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<String> first = cache.get("a", k -> k + loads.incrementAndGet());
+		CompletableFuture<String> second = cache.get("a", k -> k + loads.incrementAndGet());
+		CompletableFuture<String> present = cache.getIfPresent("a");
+		assertNotSame(first, second);
+		assertFalse(first.isDone());
+		assertFalse(present.isDone());
+		assertEquals(1, tasks.size());
+
+		// A requester that completes its own future does not complete the shared load.
+		first.complete("x");
+		assertFalse(second.isDone());
+
+		tasks.remove().run();
+		assertEquals("a1", second.join());
+		assertEquals("a1", present.join());
+		assertEquals(1, loads.get());
+
+		// Once loaded, the value is answered from the backing cache without another load.
+		assertEquals("a1", cache.get("a", k -> k + loads.incrementAndGet()).join());
+		assertEquals("a1", cache.store().get("a"));
+		assertTrue(tasks.isEmpty());
+	}
+
+	@Test
+	public void testFailedLoad() {
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		AsyncCache<String, String> cache = new AsyncCache<>(new SoftCache<>(), tasks::add);
+		IllegalStateException failure = new IllegalStateException();
+		CompletableFuture<String> first = cache.get("a", k -> {
+			throw failure;
+		});
+		CompletableFuture<String> second = cache.get("a", k -> "unused");
+		tasks.remove().run();
+		assertTrue(first.isCompletedExceptionally());
+		assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+		assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+		assertNull(cache.getIfPresent("a"));
+
+		// The failed load is forgotten, so the next request starts a new load.
+		CompletableFuture<String> retry = cache.get("a", k -> "b");
+		assertEquals(1, tasks.size());
+		tasks.remove().run();
+		assertEquals("b", retry.join());
+		assertEquals("b", cache.getIfPresent("a").join());
+	}
+
+	@Test
+	public void testRejectedLoad() {
+		AsyncCache<String, String> cache = new AsyncCache<>(command -> {
+			throw new IllegalStateException();
+		});
+		CompletableFuture<String> future = cache.get("a", k -> "b");
+		assertTrue(future.isCompletedExceptionally());
+		assertNull(cache.getIfPresent("a"));
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.BoundedCache;
+import com.mattwhitlock.common.caches.RemovalCause;
+
+/**
+ * @author Matt Whitlock
+ */
+public class BoundedCacheTest {
+
+	@Test
+	public void testMaximumSize() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+		for (int i = 0; i < 1000; ++i) {
+			cache.put(i, i);
+			Assertions.assertTrue(cache.size() <= 100);
+		}
+		assertEquals(100, cache.size());
+		int n = 0;
+		for (Integer value : cache.values()) {
+			Assertions.assertTrue(value != null);
+			++n;
+		}
+		assertEquals(100, n);
+	}
+
+	@Test
+	public void testScanResistance() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+		for (int round = 0; round < 10; ++round) {
+			for (int i = 0; i < 50; ++i) {
+				if (cache.get(i) == null) {
+					cache.put(i, i);
+				}
+			}
+		}
+		for (int i = 1000; i < 2000; ++i) {
+			cache.put(i, i);
+		}
+		for (int i = 0; i < 50; ++i) {
+			assertEquals(Integer.valueOf(i), cache.get(i));
+		}
+	}
+
+	@Test
+	public void testBulkOperations() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+		Map<Integer, Integer> m = new HashMap<>();
+		for (int i = 0; i < 10; i += 2) {
+			m.put(i, i * i);
+		}
+		cache.putAll(m);
+		Map<Integer, Integer> found = new HashMap<>();
+		List<Integer> misses = cache.getAll(Arrays.asList(0, 1, 2, 3, 4), found);
+		assertEquals(Arrays.asList(1, 3), misses);
+		assertEquals(3, found.size());
+		assertEquals(Integer.valueOf(16), found.get(4));
+		int[] calls = { 0 };
+		Map<Integer, Integer> all = cache.getAll(Arrays.asList(5, 6, 7), keys -> {
+			++calls[0];
+			Map<Integer, Integer> loaded = new HashMap<>();
+			for (Integer key : keys) {
+				loaded.put(key, -key);
+			}
+			return loaded;
+		});
+		assertEquals(1, calls[0]);
+		assertEquals(3, all.size());
+		assertEquals(Integer.valueOf(-7), cache.get(7));
+		assertEquals(2, cache.removeAll(Arrays.asList(0, 1, 2)));
+		assertEquals(5, cache.size());
+	}
+
+	@Test
+	public void testRemovalListener() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(10);
+		List<String> removals = new ArrayList<>();
+		List<Runnable> tasks = new ArrayList<>();
+		cache.setRemovalListener((key, value, cause) -> removals.add(key + "=" + value + " " + cause), tasks::add);
+		cache.put(1, 1);
+		cache.put(1, 2);
+		cache.remove(1);
+		for (int i = 100; i < 111; ++i) {
+			cache.put(i, i);
+		}
+		Assertions.assertTrue(removals.isEmpty());
+		tasks.forEach(Runnable::run);
+		assertEquals(3, removals.size());
+		assertEquals("1=1 " + RemovalCause.REPLACED, removals.get(0));
+		assertEquals("1=2 " + RemovalCause.EXPLICIT, removals.get(1));
+		Assertions.assertTrue(removals.get(2).endsWith(" " + RemovalCause.EVICTED));
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.AsyncCache;
+import com.mattwhitlock.common.caches.SoftCache;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * @author Matt Whitlock
+ */
+public class CacheEventsTest {
+
+	private static final String REMOVAL = "com.mattwhitlock.common.caches.Removal", LOAD = "com.mattwhitlock.common.caches.Load";
+
+	private static List<String> record(Recording recording, Runnable activity) throws IOException {
+		Path path = Files.createTempFile("CacheEventsTest", ".jfr");
+		try {
+			recording.start();
+			activity.run();
+			recording.stop();
+			recording.dump(path);
+			List<String> events = new ArrayList<>();
+			for (RecordedEvent event : RecordingFile.readAllEvents(path)) {
+				String name = event.getEventType().getName();
+				if (name.equals(REMOVAL)) {
+					events.add("removal " + event.getString("cause"));
+				}
+				else if (name.equals(LOAD)) {
+					events.add("load " + event.getBoolean("loaded"));
+				}
+			}
+			return events;
+		}
+		finally {
+			recording.close();
+			Files.delete(path);
+		}
+	}
+
+	private static void exercise(SoftCache<String, String> cache) {
+		cache.put("a", "1");
+		cache.put("a", "2");
+		cache.remove("a");
+		cache.get("b", key -> "3");
+		cache.get("c", key -> null);
+	}
+
+	@Test
+	public void testDefaultConfiguration() throws IOException, ParseException {
+		List<String> events = record(new Recording(Configuration.getConfiguration("default")), () -> exercise(new SoftCache<>()));
+		assertEquals(new ArrayList<>(), events);
+	}
+
+	@Test
+	public void testEnabledEvents() throws IOException {
+		Recording recording = new Recording();
+		recording.enable(REMOVAL);
+		recording.enable(LOAD).withThreshold(Duration.ZERO);
+		List<String> events = record(recording, () -> exercise(new SoftCache<>()));
+		events.sort(null);
+		List<String> expected = new ArrayList<>();
+		expected.add("load false");
+		expected.add("load true");
+		expected.add("removal EXPLICIT");
+		expected.add("removal REPLACED");
+		assertEquals(expected, events);
+	}
+
+	@Test
+	public void testFailedLoad() throws IOException {
+		Recording recording = new Recording();
+		recording.enable(LOAD).withThreshold(Duration.ZERO);
+		List<String> events = record(recording, () -> {
+			SoftCache<String, String> cache = new SoftCache<>();
+			assertThrows(IllegalStateException.class, () -> cache.get("a", key -> {
+				throw new IllegalStateException();
+			}));
+			assertThrows(IllegalStateException.class, () -> cache.getAll(Arrays.asList("b", "c"), keys -> {
+				throw new IllegalStateException();
+			}));
+		});
+		List<String> expected = new ArrayList<>();
+		expected.add("load false");
+		expected.add("load false");
+		assertEquals(expected, events);
+	}
+
+	@Test
+	public void testFailedAsyncLoad() throws IOException {
+		Recording recording = new Recording();
+		recording.enable(LOAD).withThreshold(Duration.ZERO);
+		List<String> events = record(recording, () -> {
+			AsyncCache<String, String> cache = new AsyncCache<>(Runnable::run);
+			assertTrue(cache.get("a", key -> {
+				throw new IllegalStateException();
+			}).isCompletedExceptionally());
+			assertEquals("1", cache.get("b", key -> "1").join());
+		});
+		events.sort(null);
+		List<String> expected = new ArrayList<>();
+		expected.add("load false");
+		expected.add("load true");
+		assertEquals(expected, events);
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.BoundedCache;
+import com.mattwhitlock.common.caches.CacheSnapshot;
+import com.mattwhitlock.common.caches.Codec;
+import com.mattwhitlock.common.caches.NavigableLongSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class CacheSnapshotTest {
+
+	private static final Codec<String> codec = Utf8Codec.instance;
+
+	@Test
+	public void testWriteRead() throws IOException {
+		Path path = Files.createTempFile("snapshot", null);
+		try {
+			NavigableLongSoftCache<String> cache = new NavigableLongSoftCache<>();
+			for (long i = 0; i < 100000; ++i) {
+				cache.put(i, Long.toString(i));
+			}
+			StringBuilder sb = new StringBuilder();
+			while (sb.length() < 3 << 20) {
+				sb.append("0123456789abcdef");
+			}
+			String big = sb.toString();
+			cache.put(-1L, big);
+			assertEquals(100001, CacheSnapshot.write(cache, path, Integer.MAX_VALUE, Codec.LONG, codec));
+			NavigableLongSoftCache<String> restored = new NavigableLongSoftCache<>();
+			assertEquals(100001, CacheSnapshot.read(path, Codec.LONG, codec, restored));
+			assertEquals(new TreeMap<>(cache), new TreeMap<>(restored));
+			assertEquals(big, restored.get(-1L));
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testLoad() throws IOException {
+		Path path = Files.createTempFile("snapshot", null);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			BoundedCache<String, String> cache = new BoundedCache<>(1000);
+			for (int i = 0; i < 2000; ++i) {
+				cache.put(Integer.toString(i), "");
+			}
+			assertEquals(10, CacheSnapshot.write(cache, path, 10, codec, null));
+			BoundedCache<String, String> restored = new BoundedCache<>(1000);
+			assertEquals(10, CacheSnapshot.load(path, codec, restored, key -> key + '!', executor));
+			for (String key : cache.hottestKeys(10)) {
+				assertEquals(key + '!', restored.get(key));
+			}
+			assertNull(restored.get("0"));
+		}
+		finally {
+			executor.shutdown();
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testFailedWrite() throws IOException {
+		Path path = Files.createTempFile("snapshot", null);
+		try {
+			BoundedCache<String, String> cache = new BoundedCache<>(10);
+			cache.put("a", "1");
+			assertEquals(1, CacheSnapshot.write(cache, path, 10, codec, codec));
+			cache.put("b", "2");
+			Codec<String> failing = new Codec<String>() {
+
+				@Override
+				public ByteBuffer encode(String value) {
+					if (value.equals("2")) {
+						throw new IllegalStateException();
+					}
+					return codec.encode(value);
+				}
+
+				@Override
+				public String decode(ByteBuffer buffer) {
+					return codec.decode(buffer);
+				}
+
+			};
+			assertThrows(IllegalStateException.class, () -> CacheSnapshot.write(cache, path, 10, codec, failing));
+			assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+			BoundedCache<String, String> restored = new BoundedCache<>(10);
+			assertEquals(1, CacheSnapshot.read(path, codec, codec, restored));
+			assertEquals("1", restored.get("a"));
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+
+}
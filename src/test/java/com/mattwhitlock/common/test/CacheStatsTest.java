@@ -0,0 +1,111 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Arrays;
+import java.util.NavigableMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.AbstractCache;
+import com.mattwhitlock.common.caches.CacheStats;
+import com.mattwhitlock.common.caches.ConcurrentSoftCache;
+import com.mattwhitlock.common.caches.LongSoftCache;
+import com.mattwhitlock.common.caches.NavigableLongSoftCache;
+import com.mattwhitlock.common.caches.NavigableSoftCache;
+import com.mattwhitlock.common.caches.RemovalCause;
+import com.mattwhitlock.common.caches.SoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class CacheStatsTest {
+
+	@Test
+	public void testNotRecordedByDefault() {
+		SoftCache<String, String> cache = new SoftCache<>();
+		cache.put("a", "1");
+		cache.get("a");
+		assertNull(cache.stats());
+	}
+
+	@Test
+	public void testHitsAndMisses() {
+		for (AbstractCache<String, String, ?> cache : Arrays.<AbstractCache<String, String, ?>>asList(new SoftCache<>(), new ConcurrentSoftCache<>())) {
+			cache.recordStats();
+			cache.put("a", "1");
+			assertEquals("1", cache.get("a"));
+			assertEquals("1", cache.get("a"));
+			assertNull(cache.get("b"));
+			CacheStats stats = cache.stats();
+			assertEquals(2, stats.hitCount());
+			assertEquals(1, stats.missCount());
+			assertEquals(3, stats.requestCount());
+			assertEquals(2.0 / 3, stats.hitRate(), 0);
+			assertEquals(1, stats.putCount());
+		}
+	}
+
+	@Test
+	public void testLoadCountsOneMiss() {
+		for (AbstractCache<String, String, ?> cache : Arrays.<AbstractCache<String, String, ?>>asList(new SoftCache<>(), new ConcurrentSoftCache<>())) {
+			cache.recordStats();
+			assertEquals("v", cache.get("k", key -> "v"));
+			assertEquals("v", cache.get("k", key -> "w"));
+			CacheStats stats = cache.stats();
+			assertEquals(1, stats.missCount());
+			assertEquals(1, stats.hitCount());
+			assertEquals(1, stats.putCount());
+		}
+	}
+
+	@Test
+	public void testRemovals() {
+		LongSoftCache<String> cache = new LongSoftCache<>();
+		cache.recordStats();
+		cache.put(1, "a");
+		cache.put(1, "b");
+		cache.put(2, "c");
+		cache.put(3, "d");
+		cache.remove(2);
+		cache.remove(4);
+		cache.removeAll(Arrays.asList(3L, 5L));
+		CacheStats stats = cache.stats();
+		assertEquals(4, stats.putCount());
+		assertEquals(1, stats.removalCount(RemovalCause.REPLACED));
+		assertEquals(2, stats.removalCount(RemovalCause.EXPLICIT));
+		assertEquals(0, stats.removalCount(RemovalCause.COLLECTED));
+		cache.clear();
+		assertEquals(3, cache.stats().removalCount(RemovalCause.EXPLICIT));
+		assertEquals(2, stats.removalCount(RemovalCause.EXPLICIT));
+	}
+
+	private static <K> void assertViewRecords(AbstractCache<K, String, ?> cache, NavigableMap<K, String> view, K key, K absent) {
+		view.put(key, "1");
+		view.get(key);
+		assertNull(cache.stats());
+		cache.recordStats();
+		view.put(key, "2");
+		assertEquals("2", view.get(key));
+		assertNull(view.get(absent));
+		CacheStats stats = cache.stats();
+		assertEquals(1, stats.hitCount());
+		assertEquals(1, stats.missCount());
+		assertEquals(1, stats.putCount());
+		assertEquals(1, stats.removalCount(RemovalCause.REPLACED));
+		assertEquals(1, ((AbstractCache<?, ?, ?>) view).stats().hitCount());
+	}
+
+	@Test
+	public void testViewCreatedBeforeRecording() {
+		NavigableSoftCache<String, String> cache = new NavigableSoftCache<>();
+		assertViewRecords(cache, cache.tailMap("a", true).descendingMap(), "b", "c");
+		NavigableLongSoftCache<String> longCache = new NavigableLongSoftCache<>();
+		assertViewRecords(longCache, longCache.tailMap(1L, true).descendingMap(), 2L, 3L);
+	}
+
+}
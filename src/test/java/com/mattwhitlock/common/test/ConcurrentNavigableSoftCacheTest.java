@@ -0,0 +1,73 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.ConcurrentNavigableLongSoftCache;
+import com.mattwhitlock.common.caches.ConcurrentNavigableSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class ConcurrentNavigableSoftCacheTest {
+
+	@Test
+	public void testNavigation() {
+		ConcurrentNavigableSoftCache<String, String> cache = new ConcurrentNavigableSoftCache<>();
+		cache.put("b", "2");
+		cache.put("d", "4");
+		cache.put("f", "6");
+		assertEquals("d", cache.floorKey("e"));
+		assertEquals("4", cache.ceilingEntry("c").getValue());
+		NavigableMap<String, String> sub = cache.subMap("b", false, "f", true);
+		assertEquals(2, sub.size());
+		assertEquals("4", sub.get("d"));
+		assertEquals(null, cache.putIfAbsent("a", "1"));
+		assertEquals("a", cache.pollFirstEntry().getKey());
+		assertEquals("f", cache.pollLastEntry().getKey());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testConcurrentRangeQueries() throws InterruptedException {
+		ConcurrentNavigableLongSoftCache<Long> cache = new ConcurrentNavigableLongSoftCache<>();
+		AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; ++t) {
+			int offset = t;
+			(threads[t] = new Thread(() -> {
+				for (long i = 0; i < 10000; ++i) {
+					long key = i * threads.length + offset;
+					cache.put(key, Long.valueOf(key));
+					Map.Entry<Long, Long> floor = cache.floorEntry(key);
+					if (floor == null || floor.getKey().longValue() != floor.getValue().longValue()) {
+						failed.set(true);
+					}
+					for (Map.Entry<Long, Long> entry : cache.subMap(key - 16, true, key, true).entrySet()) {
+						if (entry.getKey().longValue() != entry.getValue().longValue()) {
+							failed.set(true);
+						}
+					}
+					if (i % 16 == 0) {
+						cache.remove(key - 64);
+					}
+				}
+			})).start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assertions.assertTrue(!failed.get());
+		Assertions.assertTrue(cache.size() <= 40000);
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.ConcurrentSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class ConcurrentSoftCacheTest {
+
+	@Test
+	public void testReplaceKeepsMapping() {
+		ConcurrentSoftCache<String, String> cache = new ConcurrentSoftCache<>();
+		cache.put("a", "1");
+		cache.put("a", "2");
+		assertEquals("2", cache.get("a"));
+		List<String> values = new ArrayList<>(cache.values());
+		assertEquals(1, values.size());
+		assertEquals("2", values.get(0));
+		assertEquals("2", cache.get("a"));
+	}
+
+	@Test
+	public void testAtomicOperations() {
+		ConcurrentSoftCache<String, String> cache = new ConcurrentSoftCache<>();
+		assertEquals(null, cache.putIfAbsent("a", "1"));
+		assertEquals("1", cache.putIfAbsent("a", "2"));
+		Assertions.assertTrue(!cache.replace("a", "2", "3"));
+		Assertions.assertTrue(cache.replace("a", "1", "3"));
+		assertEquals("3", cache.replace("a", "4"));
+		Assertions.assertTrue(!cache.remove("a", "3"));
+		Assertions.assertTrue(cache.remove("a", "4"));
+		Assertions.assertTrue(cache.isEmpty());
+	}
+
+	/**
+	 * A key whose every instance collides, and whose {@code equals} method looks up another key in the same cache, so
+	 * that a lookup runs while the thread's probe is lent to an outer lookup.
+	 */
+	private static final class ReentrantKey {
+
+		final String name;
+
+		final ConcurrentSoftCache<ReentrantKey, String> cache;
+
+		ReentrantKey(String name, ConcurrentSoftCache<ReentrantKey, String> cache) {
+			this.name = name;
+			this.cache = cache;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ReentrantKey)) {
+				return false;
+			}
+			if (!name.equals("inner")) {
+				assertEquals("i", cache.get(new ReentrantKey("inner", cache)));
+			}
+			return name.equals(((ReentrantKey) obj).name);
+		}
+
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+
+	}
+
+	@Test
+	public void testReentrantLookup() {
+		ConcurrentSoftCache<ReentrantKey, String> cache = new ConcurrentSoftCache<>();
+		cache.put(new ReentrantKey("inner", cache), "i");
+		cache.put(new ReentrantKey("a", cache), "1");
+		cache.put(new ReentrantKey("b", cache), "2");
+		assertEquals("1", cache.get(new ReentrantKey("a", cache)));
+		assertEquals("2", cache.get(new ReentrantKey("b", cache)));
+		Assertions.assertTrue(cache.containsKey(new ReentrantKey("a", cache)));
+		assertEquals("2", cache.remove(new ReentrantKey("b", cache)));
+		Assertions.assertTrue(cache.remove(new ReentrantKey("a", cache), "1"));
+		assertEquals(null, cache.get(new ReentrantKey("a", cache)));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws InterruptedException {
+		ConcurrentSoftCache<Integer, Integer> cache = new ConcurrentSoftCache<>();
+		AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; ++t) {
+			int offset = t;
+			(threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10000; ++i) {
+					int key = i * threads.length + offset;
+					cache.put(key, key);
+					Integer value = cache.get(key);
+					if (value != null && value != key) {
+						failed.set(true);
+					}
+				}
+			})).start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assertions.assertTrue(!failed.get());
+		Assertions.assertTrue(cache.size() <= 40000);
+	}
+
+	@Test
+	public void testSingleFlightLoad() throws InterruptedException {
+		ConcurrentSoftCache<String, String> cache = new ConcurrentSoftCache<>();
+		AtomicInteger loads = new AtomicInteger();
+		AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; ++t) {
+			(threads[t] = new Thread(() -> {
+				String value = cache.get("a", key -> {
+					loads.incrementAndGet();
+					try {
+						Thread.sleep(100);
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return key + '!';
+				});
+				if (!"a!".equals(value)) {
+					failed.set(true);
+				}
+			})).start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assertions.assertTrue(!failed.get());
+		assertEquals(1, loads.get());
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.IntSoftCache;
+import com.mattwhitlock.common.caches.LongSoftCache;
+import com.mattwhitlock.common.caches.SoftCache;
+
+/**
+ * Compares the open-addressing tables behind {@link SoftCache}, {@link LongSoftCache}, and {@link IntSoftCache} with
+ * {@link HashMap} under random sequences of operations. A narrow key range exercises the reuse of tombstones, and a
+ * wide one exercises resizing.
+ * 
+ * @author Matt Whitlock
+ */
+public class EntryHashMapTest {
+
+	private static <K> void compare(Map<K, String> cache, IntFunction<K> keyOf, long seed) {
+		Map<K, String> expected = new HashMap<>();
+		Random random = new Random(seed);
+		for (int range : new int[] { 40, 50_000 }) {
+			for (int op = 0; op < 100_000; ++op) {
+				K key = keyOf.apply(random.nextInt(range));
+				int choice = random.nextInt(100);
+				if (choice < 45) {
+					String value = "v" + op;
+					assertEquals(expected.put(key, value), cache.put(key, value));
+				}
+				else if (choice < 75) {
+					assertEquals(expected.remove(key), cache.remove(key));
+				}
+				else if (choice < 99) {
+					assertEquals(expected.get(key), cache.get(key));
+				}
+				else if (random.nextInt(20) == 0) {
+					int mod = 2 + random.nextInt(5);
+					for (Iterator<K> it = cache.keySet().iterator(); it.hasNext();) {
+						K k = it.next();
+						if (k.hashCode() % mod == 0) {
+							it.remove();
+							expected.remove(k);
+						}
+					}
+					assertEquals(expected, new HashMap<>(cache));
+				}
+				assertEquals(expected.size(), cache.size());
+			}
+			assertEquals(expected, new HashMap<>(cache));
+			assertEquals(expected.keySet(), cache.keySet().parallelStream().collect(Collectors.toSet()));
+			assertEquals(new HashSet<>(expected.values()), cache.values().parallelStream().collect(Collectors.toSet()));
+		}
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(new HashMap<>(), new HashMap<>(cache));
+	}
+
+	@Test
+	public void testEntryHashMap() {
+		compare(new SoftCache<String, String>(), i -> "k" + i, 1);
+	}
+
+	@Test
+	public void testLongEntryHashMap() {
+		compare(new LongSoftCache<String>(), i -> (long) i * 0x100000001L, 2);
+		compare(new LongSoftCache<String>(1000), i -> -(long) i, 3);
+	}
+
+	@Test
+	public void testIntEntryHashMap() {
+		compare(new IntSoftCache<String>(), i -> i << 4, 4);
+		compare(new IntSoftCache<String>(1000), i -> -i, 5);
+	}
+
+	@Test
+	public void testTombstoneReuse() {
+		LongSoftCache<String> cache = new LongSoftCache<>();
+		for (long i = 0; i < 1_000_000; ++i) {
+			cache.put(i, "v");
+			assertEquals("v", cache.remove(i));
+		}
+		assertEquals(0, cache.size());
+		cache.put(7, "w");
+		assertEquals("w", cache.get(7));
+	}
+
+	@Test
+	public void testNegativeExpectedSize() {
+		assertThrows(IllegalArgumentException.class, () -> new LongSoftCache<String>(-1));
+		assertThrows(IllegalArgumentException.class, () -> new IntSoftCache<String>(-1));
+	}
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.ExpiringSoftCache;
+import com.mattwhitlock.common.caches.RemovalCause;
+
+/**
+ * @author Matt Whitlock
+ */
+public class ExpiringSoftCacheTest {
+
+	private static <K, V> ExpiringSoftCache<K, V> newCache(ExpiringSoftCache.Policy policy, long[] clock) {
+		return new ExpiringSoftCache<K, V>(policy, 30, TimeUnit.SECONDS) {
+
+			@Override
+			protected long now() {
+				return clock[0];
+			}
+
+		};
+	}
+
+	@Test
+	public void testExpireAfterWrite() {
+		long[] clock = { -TimeUnit.MINUTES.toNanos(5) };
+		ExpiringSoftCache<Integer, String> cache = newCache(ExpiringSoftCache.Policy.AFTER_WRITE, clock);
+		cache.recordStats();
+		for (int i = 0; i < 1000; ++i) {
+			cache.put(i, "v" + i);
+			clock[0] += TimeUnit.MILLISECONDS.toNanos(10);
+		}
+		assertEquals("v0", cache.get(0));
+		clock[0] += TimeUnit.SECONDS.toNanos(20) - TimeUnit.MILLISECONDS.toNanos(1);
+		assertEquals("v0", cache.get(0));
+		clock[0] += TimeUnit.MILLISECONDS.toNanos(2);
+		assertNull(cache.get(0));
+		clock[0] += TimeUnit.SECONDS.toNanos(5);
+		assertEquals("v999", cache.get(999));
+		clock[0] += TimeUnit.SECONDS.toNanos(5);
+		assertNull(cache.get(999));
+		assertEquals(0, cache.size());
+		assertEquals(1000, cache.stats().removalCount(RemovalCause.EXPIRED));
+	}
+
+	@Test
+	public void testExpireAfterAccess() {
+		long[] clock = { 0 };
+		ExpiringSoftCache<Integer, String> cache = newCache(ExpiringSoftCache.Policy.AFTER_ACCESS, clock);
+		cache.put(1, "a");
+		cache.put(2, "b");
+		for (int i = 0; i < 10; ++i) {
+			clock[0] += TimeUnit.SECONDS.toNanos(20);
+			assertEquals("a", cache.get(1));
+		}
+		assertEquals(1, cache.size());
+		assertNull(cache.get(2));
+		clock[0] += TimeUnit.SECONDS.toNanos(30);
+		assertNull(cache.get(1));
+	}
+
+	@Test
+	public void testCullCauseOfExpiredEntries() {
+		long[] clock = { 0 };
+		ExpiringSoftCache<String, String> cache = newCache(ExpiringSoftCache.Policy.AFTER_WRITE, clock);
+		List<String> removals = new ArrayList<>();
+		cache.setRemovalListener((key, value, cause) -> removals.add(key + "=" + value + ":" + cause), Runnable::run);
+		cache.recordStats();
+		cache.put("x", "1");
+		cache.put("y", "2");
+		cache.put("z", "3");
+		clock[0] += TimeUnit.SECONDS.toNanos(31);
+		cache.forEach((key, value) -> fail());
+		assertFalse(cache.values().iterator().hasNext());
+		assertEquals(0, cache.size());
+		Collections.sort(removals);
+		assertEquals(Arrays.asList("x=1:EXPIRED", "y=2:EXPIRED", "z=3:EXPIRED"), removals);
+		assertEquals(3, cache.stats().removalCount(RemovalCause.EXPIRED));
+		assertEquals(0, cache.stats().removalCount(RemovalCause.COLLECTED));
+		cache.put("w", "4");
+		clock[0] += TimeUnit.SECONDS.toNanos(31);
+		assertFalse(cache.cursor().advance());
+		assertEquals("w=4:EXPIRED", removals.get(3));
+	}
+
+	@Test
+	public void testRefreshAhead() {
+		long[] clock = { 0 };
+		AtomicInteger loads = new AtomicInteger();
+		Queue<Runnable> tasks = new ArrayDeque<>();
+		ExpiringSoftCache<Integer, String> cache = new ExpiringSoftCache<Integer, String>(ExpiringSoftCache.Policy.AFTER_WRITE, 30, 20, TimeUnit.SECONDS, key -> key + "v" + loads.incrementAndGet(), tasks::add) {
+
+			@Override
+			protected long now() {
+				return clock[0];
+			}
+
+		};
+		assertEquals("1v1", cache.load(1));
+		clock[0] += TimeUnit.SECONDS.toNanos(25);
+		assertEquals("1v1", cache.get(1));
+		assertEquals("1v1", cache.get(1));
+		assertEquals(1, tasks.size());
+		tasks.remove().run();
+		assertEquals("1v2", cache.get(1));
+		assertTrue(tasks.isEmpty());
+		clock[0] += TimeUnit.SECONDS.toNanos(25);
+		assertEquals("1v2", cache.get(1));
+		cache.put(1, "x");
+		tasks.remove().run();
+		assertEquals("x", cache.get(1));
+		clock[0] += TimeUnit.SECONDS.toNanos(40);
+		assertNull(cache.get(1));
+		assertEquals("1v4", cache.load(1));
+		assertTrue(tasks.isEmpty());
+	}
+
+	@Test
+	public void testRefreshOnDirectExecutor() {
+		long[] clock = { 0 };
+		AtomicInteger loads = new AtomicInteger();
+		boolean[] fail = { false };
+		ExpiringSoftCache<Integer, String> cache = new ExpiringSoftCache<Integer, String>(ExpiringSoftCache.Policy.AFTER_WRITE, 30, 20, TimeUnit.SECONDS, key -> {
+			if (fail[0]) {
+				throw new AssertionError("expected failure");
+			}
+			return key + "v" + loads.incrementAndGet();
+		}, Runnable::run) {
+
+			@Override
+			protected long now() {
+				return clock[0];
+			}
+
+		};
+		List<Throwable> failures = new ArrayList<>();
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+		try {
+			assertEquals("1v1", cache.load(1));
+			clock[0] += TimeUnit.SECONDS.toNanos(25);
+			fail[0] = true;
+			assertEquals("1v1", cache.get(1));
+			assertEquals(1, failures.size());
+			assertEquals("1v1", cache.get(1));
+			assertEquals(2, failures.size());
+			fail[0] = false;
+			assertEquals("1v1", cache.get(1));
+			assertEquals("1v2", cache.get(1));
+			assertEquals(2, loads.get());
+			clock[0] += TimeUnit.SECONDS.toNanos(25);
+			assertEquals("1v2", cache.get(1));
+			cache.remove(1);
+			assertNull(cache.get(1));
+			assertEquals(3, loads.get());
+		}
+		finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+	}
+
+	@Test
+	public void testAbsence() {
+		long[] clock = { 0 };
+		AtomicInteger loads = new AtomicInteger();
+		ExpiringSoftCache<Integer, String> cache = newCache(ExpiringSoftCache.Policy.AFTER_WRITE, clock);
+		cache.setAbsenceDuration(10, TimeUnit.SECONDS);
+		for (int i = 0; i < 3; ++i) {
+			assertNull(cache.get(1, key -> {
+				loads.incrementAndGet();
+				return null;
+			}));
+		}
+		assertEquals(1, loads.get());
+		assertTrue(cache.isAbsent(1));
+		assertEquals(0, cache.size());
+		clock[0] += TimeUnit.SECONDS.toNanos(10);
+		assertFalse(cache.isAbsent(1));
+		assertEquals("a", cache.get(1, key -> "a"));
+		cache.markAbsent(1);
+		assertNull(cache.get(1));
+		assertTrue(cache.isAbsent(1));
+		cache.put(1, "b");
+		assertFalse(cache.isAbsent(1));
+		Map<Integer, String> found = cache.getAll(Arrays.asList(1, 2, 3), keys -> {
+			assertEquals(Arrays.asList(2, 3), keys);
+			return Collections.singletonMap(2, "c");
+		});
+		assertEquals(2, found.size());
+		assertTrue(cache.isAbsent(3));
+		found = cache.getAll(Arrays.asList(2, 3), keys -> {
+			throw new AssertionError();
+		});
+		assertEquals(Collections.singletonMap(2, "c"), found);
+		cache.remove(3);
+		assertFalse(cache.isAbsent(3));
+		cache.markAbsent(4);
+		clock[0] += TimeUnit.SECONDS.toNanos(11);
+		cache.get(2);
+		assertFalse(cache.isAbsent(4));
+		cache.setAbsenceDuration(0, TimeUnit.SECONDS);
+		assertNull(cache.get(5, key -> null));
+		assertFalse(cache.isAbsent(5));
+	}
+
+}
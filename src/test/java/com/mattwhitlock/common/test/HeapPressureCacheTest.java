@@ -0,0 +1,37 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.HeapPressureCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class HeapPressureCacheTest {
+
+	@Test
+	public void testShed() {
+		HeapPressureCache<Integer, String> cache = new HeapPressureCache<>(null);
+		for (int i = 0; i < 100; ++i) {
+			cache.put(i, Integer.toString(i));
+		}
+		assertEquals("0", cache.get(0));
+		cache.shed(0.25);
+		assertEquals(75, cache.size());
+		assertEquals("0", cache.get(0));
+		assertNull(cache.get(1));
+		assertNull(cache.get(25));
+		assertEquals("26", cache.get(26));
+		cache.shed(0.001);
+		assertEquals(74, cache.size());
+		cache.shed(2);
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.HeapPressureMonitor;
+
+/**
+ * @author Matt Whitlock
+ */
+public class HeapPressureMonitorTest {
+
+	@Test
+	public void testSharedThreshold() {
+		HeapPressureMonitor monitor = HeapPressureMonitor.shared();
+		double threshold = monitor.threshold();
+		assertSame(monitor, HeapPressureMonitor.shared(threshold));
+		assertEquals(threshold, HeapPressureMonitor.shared().threshold(), 0);
+		assertThrows(IllegalStateException.class, () -> HeapPressureMonitor.shared(threshold / 2));
+	}
+
+	@Test
+	public void testInvalidThreshold() {
+		assertThrows(IllegalArgumentException.class, () -> HeapPressureMonitor.shared(0));
+		assertThrows(IllegalArgumentException.class, () -> HeapPressureMonitor.shared(1));
+		assertThrows(IllegalArgumentException.class, () -> HeapPressureMonitor.shared(Double.NaN));
+	}
+
+}
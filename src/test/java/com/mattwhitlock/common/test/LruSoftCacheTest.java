@@ -0,0 +1,94 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.LruSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class LruSoftCacheTest {
+
+	@Test
+	public void testMaximumWeight() {
+		LruSoftCache<Integer, byte[]> cache = new LruSoftCache<>(1000, (key, value) -> value.length);
+		for (int i = 1; i <= 4; ++i) {
+			cache.put(i, new byte[100 * i]);
+		}
+		assertEquals(1000, cache.strongWeight());
+		assertEquals(4, cache.strongSize());
+		cache.get(1);
+		cache.put(5, new byte[500]);
+		assertEquals(1000, cache.strongWeight());
+		assertEquals(3, cache.strongSize());
+		cache.put(6, new byte[2000]);
+		assertEquals(1000, cache.strongWeight());
+		assertEquals(6, cache.size());
+	}
+
+	@Test
+	public void testReplace() {
+		LruSoftCache<Integer, String> cache = new LruSoftCache<>(2);
+		cache.put(1, "a");
+		assertEquals("a", cache.put(1, "b"));
+		assertEquals(1, cache.strongSize());
+		cache.put(2, "c");
+		cache.put(1, "d");
+		cache.put(3, "e");
+		assertEquals(2, cache.strongSize());
+		assertEquals(Arrays.asList(3, 1, 2), cache.hottestKeys(3));
+	}
+
+	@Test
+	public void testRejectedWeight() {
+		LruSoftCache<Integer, String> cache = new LruSoftCache<>(10, (key, value) -> value.isEmpty() ? -1 : value.length());
+		cache.put(1, "a");
+		assertThrows(IllegalArgumentException.class, () -> cache.put(2, ""));
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.strongSize());
+		assertEquals(1, cache.strongWeight());
+	}
+
+	@Test
+	public void testCapacity() {
+		LruSoftCache<Integer, String> cache = new LruSoftCache<>(2);
+		cache.put(1, "a");
+		cache.put(2, "b");
+		assertEquals("a", cache.get(1));
+		cache.put(3, "c");
+		assertEquals(2, cache.strongSize());
+		assertEquals(3, cache.size());
+		assertEquals("b", cache.get(2));
+		assertEquals(2, cache.strongSize());
+	}
+
+	@Test
+	public void testRemove() {
+		LruSoftCache<Integer, String> cache = new LruSoftCache<>(2);
+		cache.put(1, "a");
+		cache.put(2, "b");
+		assertEquals("a", cache.remove(1));
+		assertNull(cache.get(1));
+		assertEquals(1, cache.strongSize());
+		cache.clear();
+		assertEquals(0, cache.strongSize());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testInvalidCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new LruSoftCache<Integer, String>(0));
+		assertThrows(IllegalArgumentException.class, () -> new LruSoftCache<Integer, String>(-1, (key, value) -> 1));
+		assertThrows(NullPointerException.class, () -> new LruSoftCache<Integer, String>(1, null));
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.IntSoftCache;
+import com.mattwhitlock.common.caches.NavigableIntSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class NavigableIntSoftCacheTest {
+
+	@Test
+	public void testPutGetRemove() {
+		for (Map<Integer, String> map : Arrays.<Map<Integer, String>>asList(new IntSoftCache<>(), new NavigableIntSoftCache<>())) {
+			assertNull(map.put(1, "a"));
+			assertEquals("a", map.put(1, "b"));
+			assertNull(map.put(-1, "c"));
+			assertNull(map.put(Integer.MIN_VALUE, "d"));
+			assertEquals(3, map.size());
+			assertEquals("b", map.get(1));
+			assertEquals("c", map.get(-1));
+			assertEquals("d", map.get(Integer.MIN_VALUE));
+			assertNull(map.get(2));
+			assertNull(map.get(1L));
+			assertNull(map.get("1"));
+			assertTrue(map.containsKey(-1));
+			assertFalse(map.containsKey(-1L));
+			assertNull(map.remove(1L));
+			assertEquals("b", map.remove(1));
+			assertNull(map.remove(1));
+			assertEquals(2, map.size());
+			map.clear();
+			assertTrue(map.isEmpty());
+		}
+		IntSoftCache<String> cache = new IntSoftCache<>();
+		cache.put(7, "x");
+		assertEquals("x", cache.get(7));
+		assertTrue(cache.containsKey(7));
+		assertEquals("x", cache.remove(7));
+		assertFalse(cache.containsKey(7));
+	}
+
+	@Test
+	public void testNavigation() {
+		NavigableIntSoftCache<Integer> cache = new NavigableIntSoftCache<>();
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		for (int i = 0; i < 100000; i += 3) {
+			int key = i * 0x9E3779B9;
+			cache.put(key, Integer.valueOf(i));
+			expected.put(key, i);
+		}
+		assertEquals(expected.size(), cache.size());
+		assertEquals(expected.firstKey().intValue(), cache.firstIntKey());
+		assertEquals(expected.lastKey().intValue(), cache.lastIntKey());
+		for (long key = Integer.MIN_VALUE; key <= Integer.MAX_VALUE; key += 1 << 20) {
+			int k = (int) key;
+			assertEquals(expected.lowerKey(k), cache.lowerKey(k));
+			assertEquals(expected.floorKey(k), cache.floorKey(k));
+			assertEquals(expected.ceilingKey(k), cache.ceilingKey(k));
+			assertEquals(expected.higherKey(k), cache.higherKey(k));
+			assertEquals(expected.floorEntry(k), cache.floorEntry(k));
+		}
+		NavigableMap<Integer, Integer> sub = cache.subMap(-(1 << 30), true, 1 << 30, false);
+		assertEquals(expected.subMap(-(1 << 30), true, 1 << 30, false), sub);
+		assertEquals(expected.headMap(0, true).descendingMap().firstKey(), cache.headMap(0, true).descendingMap().firstKey());
+		assertEquals(expected.tailMap(0, false).firstKey(), cache.tailMap(0, false).firstKey());
+		for (Iterator<Integer> it = sub.keySet().iterator(); it.hasNext();) {
+			if (it.next() % 2 == 0) {
+				it.remove();
+			}
+		}
+		expected.subMap(-(1 << 30), true, 1 << 30, false).keySet().removeIf(key -> key % 2 == 0);
+		assertEquals(expected, cache);
+		assertEquals(expected.pollFirstEntry().getKey(), cache.pollFirstEntry().getKey());
+		assertEquals(expected.pollLastEntry().getKey(), cache.pollLastEntry().getKey());
+		cache.clear();
+		assertNull(cache.floorKey(Integer.MAX_VALUE));
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,308 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.ConcurrentNavigableLongSoftCache;
+import com.mattwhitlock.common.caches.LongCursor;
+import com.mattwhitlock.common.caches.NavigableLongSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class NavigableLongSoftCacheTest {
+
+	@Test
+	public void testNavigation() {
+		NavigableLongSoftCache<Long> cache = new NavigableLongSoftCache<>();
+		TreeMap<Long, Long> expected = new TreeMap<>();
+		for (long i = 0; i < 100000; i += 3) {
+			long key = i * 0x9E3779B97F4A7C15L >>> 40;
+			cache.put(key, Long.valueOf(i));
+			expected.put(key, i);
+		}
+		assertEquals(expected.size(), cache.size());
+		for (long key = 0; key < 1 << 24; key += 4099) {
+			assertEquals(expected.floorKey(key), cache.floorKey(key));
+			assertEquals(expected.higherKey(key), cache.higherKey(key));
+		}
+		NavigableMap<Long, Long> sub = cache.subMap(1L << 20, true, 1L << 22, false);
+		assertEquals(expected.subMap(1L << 20, true, 1L << 22, false), sub);
+		assertEquals(expected.headMap(1L << 21, true).descendingMap().firstKey(), cache.headMap(1L << 21, true).descendingMap().firstKey());
+		for (Iterator<Long> it = sub.keySet().iterator(); it.hasNext();) {
+			if (it.next() % 2 == 0) {
+				it.remove();
+			}
+		}
+		expected.subMap(1L << 20, true, 1L << 22, false).keySet().removeIf(key -> key % 2 == 0);
+		assertEquals(expected, cache);
+		assertEquals(expected.pollFirstEntry().getKey(), cache.pollFirstEntry().getKey());
+		assertEquals(expected.pollLastEntry().getKey(), cache.pollLastEntry().getKey());
+		cache.clear();
+		assertNull(cache.floorKey(Long.MAX_VALUE));
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Returns a random view of the given map: the map itself, or a sub-, head- or tail-map with random bounds,
+	 * optionally descending. The same random choices yield corresponding views of different maps.
+	 */
+	private static NavigableMap<Long, Long> view(NavigableMap<Long, Long> map, Random random, long range) {
+		long a = random.nextInt((int) range), b = random.nextInt((int) range);
+		boolean aInclusive = random.nextBoolean(), bInclusive = random.nextBoolean();
+		NavigableMap<Long, Long> view;
+		switch (random.nextInt(4)) {
+			case 0:
+				view = map;
+				break;
+			case 1:
+				view = map.subMap(Math.min(a, b), aInclusive, Math.max(a, b), bInclusive);
+				break;
+			case 2:
+				view = map.headMap(a, aInclusive);
+				break;
+			default:
+				view = map.tailMap(a, aInclusive);
+				break;
+		}
+		return random.nextBoolean() ? view.descendingMap() : view;
+	}
+
+	private static Long key(Map.Entry<Long, Long> entry) {
+		return entry == null ? null : entry.getKey();
+	}
+
+	private static void assertNavigation(NavigableMap<Long, Long> expected, NavigableMap<Long, Long> actual, Random random, long range) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+		assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+		if (expected.isEmpty()) {
+			assertThrows(NoSuchElementException.class, actual::firstKey);
+			assertThrows(NoSuchElementException.class, actual::lastKey);
+		}
+		else {
+			assertEquals(expected.firstKey(), actual.firstKey());
+			assertEquals(expected.lastKey(), actual.lastKey());
+		}
+		assertEquals(key(expected.firstEntry()), key(actual.firstEntry()));
+		assertEquals(key(expected.lastEntry()), key(actual.lastEntry()));
+		for (int i = 0; i < 16; ++i) {
+			long key = random.nextInt((int) range + 2) - 1;
+			assertEquals(expected.lowerKey(key), actual.lowerKey(key));
+			assertEquals(expected.floorKey(key), actual.floorKey(key));
+			assertEquals(expected.ceilingKey(key), actual.ceilingKey(key));
+			assertEquals(expected.higherKey(key), actual.higherKey(key));
+			assertEquals(expected.get(key), actual.get(key));
+		}
+	}
+
+	@Test
+	public void testRandomizedAgainstTreeMap() {
+		Random random = new Random(0x5EED);
+		for (long range : new long[] { 100, 5000, 200000 }) {
+			NavigableLongSoftCache<Long> cache = new NavigableLongSoftCache<>();
+			TreeMap<Long, Long> expected = new TreeMap<>();
+			for (int round = 0; round < 40; ++round) {
+				// Grow the map, then remove most of it again, so that nodes are split, emptied and refilled.
+				for (int i = 0; i < range / 2; ++i) {
+					Long key = (long) random.nextInt((int) range), value = random.nextLong();
+					assertEquals(expected.put(key, value), cache.put(key, value));
+				}
+				assertEquals(expected, cache);
+				for (int i = 0; i < range; ++i) {
+					long key = random.nextInt((int) range);
+					assertEquals(expected.remove(key), cache.remove(key));
+				}
+				assertEquals(expected, cache);
+				long seed = random.nextLong();
+				NavigableMap<Long, Long> expectedView = view(expected, new Random(seed), range), actualView = view(cache, new Random(seed), range);
+				assertNavigation(expectedView, actualView, random, range);
+				switch (round % 4) {
+					case 0:
+						// Remove through the view's iterator.
+						for (Iterator<Long> it = actualView.keySet().iterator(); it.hasNext();) {
+							if (it.next() % 3 == 0) {
+								it.remove();
+							}
+						}
+						expectedView.keySet().removeIf(key -> key % 3 == 0);
+						break;
+					case 1:
+						// Poll from both ends of the view.
+						for (int i = random.nextInt(64); i >= 0; --i) {
+							assertEquals(key(expectedView.pollFirstEntry()), key(actualView.pollFirstEntry()));
+							assertEquals(key(expectedView.pollLastEntry()), key(actualView.pollLastEntry()));
+						}
+						break;
+					case 2:
+						expectedView.clear();
+						actualView.clear();
+						break;
+					default:
+						// Drain the whole map.
+						while (!expected.isEmpty()) {
+							assertEquals(key(expected.pollFirstEntry()), key(cache.pollFirstEntry()));
+						}
+						break;
+				}
+				assertNavigation(expectedView, actualView, random, range);
+				assertNavigation(expected, cache, random, range);
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentReaders() throws Exception {
+		NavigableLongSoftCache<Long> cache = new NavigableLongSoftCache<>();
+		TreeMap<Long, Long> expected = new TreeMap<>();
+		for (long i = 0; i < 100000; ++i) {
+			cache.put(i * 7, Long.valueOf(i));
+			expected.put(i * 7, i);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; ++t) {
+				long seed = t;
+				futures.add(executor.submit(() -> {
+					Random random = new Random(seed);
+					for (int i = 0; i < 20000; ++i) {
+						long a = random.nextInt(700000), b = a + random.nextInt(7000);
+						NavigableMap<Long, Long> expectedView = expected.subMap(a, true, b, false), actualView = cache.subMap(a, true, b, false);
+						assertEquals(expectedView.isEmpty(), actualView.isEmpty());
+						assertEquals(key(expectedView.firstEntry()), key(actualView.firstEntry()));
+						assertEquals(key(expectedView.descendingMap().firstEntry()), key(actualView.descendingMap().firstEntry()));
+						assertEquals(expected.floorKey(b), cache.floorKey(b));
+						assertEquals(expected.higherKey(a), cache.higherKey(a));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void testParallelStream() {
+		for (NavigableMap<Long, Long> cache : Arrays.asList(new NavigableLongSoftCache<Long>(), new ConcurrentNavigableLongSoftCache<Long>())) {
+			for (long i = 0; i < 100000; ++i) {
+				cache.put(i * 3, Long.valueOf(i));
+			}
+			assertEquals(100000L * 99999 / 2, cache.values().parallelStream().mapToLong(Long::longValue).sum());
+			NavigableMap<Long, Long> sub = cache.subMap(1000L, false, 200000L, true).descendingMap();
+			assertEquals(new ArrayList<>(sub.keySet()), sub.keySet().parallelStream().collect(Collectors.toList()));
+			assertEquals(sub.size(), sub.entrySet().parallelStream().filter(entry -> entry.getKey() == entry.getValue() * 3).count());
+		}
+	}
+
+	/**
+	 * Splits a spliterator recursively, traversing the pieces on the threads of a {@link ForkJoinPool} and counting
+	 * the number of times each value is seen.
+	 */
+	private static final class SplitTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Spliterator<Long> spliterator;
+
+		private final AtomicIntegerArray seen;
+
+		SplitTask(Spliterator<Long> spliterator, AtomicIntegerArray seen) {
+			this.spliterator = spliterator;
+			this.seen = seen;
+		}
+
+		@Override
+		protected void compute() {
+			Spliterator<Long> prefix = spliterator.trySplit();
+			if (prefix != null) {
+				invokeAll(new SplitTask(prefix, seen), new SplitTask(spliterator, seen));
+			}
+			else {
+				spliterator.forEachRemaining(value -> seen.incrementAndGet(value.intValue()));
+			}
+		}
+
+	}
+
+	@Test
+	public void testConcurrentSplitting() {
+		NavigableLongSoftCache<Long> cache = new NavigableLongSoftCache<>();
+		for (long i = 0; i < 100000; ++i) {
+			cache.put(i, Long.valueOf(i));
+		}
+		ForkJoinPool pool = new ForkJoinPool(8);
+		try {
+			for (int run = 0; run < 20; ++run) {
+				AtomicIntegerArray seen = new AtomicIntegerArray(100000);
+				pool.invoke(new SplitTask(cache.values().spliterator(), seen));
+				for (int i = 0; i < 100000; ++i) {
+					assertEquals(1, seen.get(i), "value " + i);
+				}
+				seen = new AtomicIntegerArray(100000);
+				pool.invoke(new SplitTask(cache.subMap(1000L, true, 90000L, false).descendingMap().values().spliterator(), seen));
+				for (int i = 0; i < 100000; ++i) {
+					assertEquals(i >= 1000 && i < 90000 ? 1 : 0, seen.get(i), "value " + i);
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testCursor() {
+		NavigableLongSoftCache<String> cache = new NavigableLongSoftCache<>();
+		for (long i = 0; i < 1000; ++i) {
+			cache.put(i, Long.toString(i));
+		}
+		long expectedKey = 0;
+		for (LongCursor<String> cursor = cache.cursor(); cursor.advance(); ++expectedKey) {
+			assertEquals(expectedKey, cursor.longKey());
+			assertEquals(Long.toString(expectedKey), cursor.value());
+			if (expectedKey % 2 != 0) {
+				cursor.remove();
+			}
+		}
+		assertEquals(1000, expectedKey);
+		assertEquals(500, cache.size());
+		AtomicLong sum = new AtomicLong();
+		cache.forEachLong((key, value) -> sum.addAndGet(key + Long.parseLong(value)));
+		cache.forEach((key, value) -> sum.addAndGet(-key));
+		assertEquals(499L * 500 / 2 * 2, sum.get());
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.CacheStats;
+import com.mattwhitlock.common.caches.Codec;
+import com.mattwhitlock.common.caches.OffHeapLongCache;
+import com.mattwhitlock.common.caches.RemovalCause;
+
+/**
+ * @author Matt Whitlock
+ */
+public class OffHeapLongCacheTest {
+
+	private static final Codec<String> codec = Utf8Codec.instance;
+
+	private static String repeat(char c, int n) {
+		StringBuilder sb = new StringBuilder(n);
+		while (sb.length() < n) {
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	@Test
+	public void testPutGetRemove() {
+		OffHeapLongCache<String> cache = new OffHeapLongCache<>(codec, 1 << 16, 1 << 12);
+		cache.put(1L, "one");
+		cache.put(2L, "two");
+		assertEquals("one", cache.get(1L));
+		assertEquals("one", cache.put(1L, "uno"));
+		assertEquals("uno", cache.get(1L));
+		assertEquals("two", cache.remove(2L));
+		assertNull(cache.get(2L));
+		String big = repeat('x', 10000);
+		cache.put(3L, big);
+		assertEquals(big, cache.get(3L));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testEviction() {
+		OffHeapLongCache<String> cache = new OffHeapLongCache<>(codec, 1 << 14, 1 << 12);
+		String padding = repeat('-', 100);
+		for (long i = 0; i < 1000; ++i) {
+			cache.put(i, i + padding);
+			Assertions.assertTrue(cache.reservedBytes() <= 1 << 14);
+		}
+		assertEquals((1 << 14) / 128, cache.size());
+		assertEquals(999 + padding, cache.get(999L));
+		assertNull(cache.get(0L));
+		cache.put(1000L, repeat('y', 1 << 15));
+		assertNull(cache.get(1000L));
+		assertEquals(999 + padding, cache.get(999L));
+	}
+
+	@Test
+	public void testOversizeValueOverExistingKey() {
+		OffHeapLongCache<String> cache = new OffHeapLongCache<>(codec, 1 << 14, 1 << 12);
+		cache.put(1L, "one");
+		cache.put(2L, "two");
+		cache.recordStats();
+		List<String> removals = new ArrayList<>();
+		cache.setRemovalListener((key, value, cause) -> removals.add(key + "=" + value + ":" + cause), Runnable::run);
+		assertEquals("one", cache.put(1L, repeat('z', 1 << 15)));
+		assertNull(cache.get(1L));
+		assertEquals("two", cache.get(2L));
+		CacheStats stats = cache.stats();
+		assertEquals(0, stats.putCount());
+		assertEquals(0, stats.removalCount(RemovalCause.REPLACED));
+		assertEquals(1, stats.removalCount(RemovalCause.EVICTED));
+		assertEquals(Arrays.asList("1=one:EVICTED"), removals);
+		assertNull(cache.put(3L, repeat('z', 1 << 15)));
+		assertEquals(1, removals.size());
+	}
+
+	@Test
+	public void testSlabReassignment() {
+		OffHeapLongCache<String> cache = new OffHeapLongCache<>(codec, 1 << 13, 1 << 12);
+		String small = repeat('s', 100), large = repeat('l', 1000);
+		for (long i = 0; i < 64; ++i) {
+			cache.put(i, small);
+		}
+		assertEquals(1 << 13, cache.reservedBytes());
+		assertEquals(64, cache.size());
+
+		// Both slabs are carved into small chunks, so large values must take slabs away from the small ones.
+		for (long i = 100; i < 108; ++i) {
+			cache.put(i, large);
+			assertEquals(large, cache.get(i));
+			Assertions.assertTrue(cache.reservedBytes() <= 1 << 13);
+		}
+		for (long i = 100; i < 104; ++i) {
+			assertEquals(large, cache.get(i));
+		}
+		assertNull(cache.get(0L));
+
+		// And the small values can take them back.
+		for (long i = 200; i < 264; ++i) {
+			cache.put(i, small);
+		}
+		assertEquals(64, cache.size());
+		assertEquals(small, cache.get(263L));
+	}
+
+}
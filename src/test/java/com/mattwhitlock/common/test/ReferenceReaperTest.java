@@ -0,0 +1,171 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.AbstractReferenceCache;
+import com.mattwhitlock.common.caches.ConcurrentSoftCache;
+import com.mattwhitlock.common.caches.ReferenceReaper;
+import com.mattwhitlock.common.caches.RemovalCause;
+import com.mattwhitlock.common.caches.SoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class ReferenceReaperTest {
+
+	/**
+	 * A {@link ConcurrentSoftCache} that remembers the entries it constructs, so that the test can clear and enqueue
+	 * them as the garbage collector would.
+	 */
+	private static class TestCache extends ConcurrentSoftCache<Integer, String> {
+
+		final List<SoftCache.Entry<Integer, String>> entries = new ArrayList<>();
+
+		TestCache(ReferenceReaper reaper) {
+			super(reaper);
+		}
+
+		@Override
+		protected SoftCache.Entry<Integer, String> newEntry(Integer key, String value) {
+			SoftCache.Entry<Integer, String> entry = super.newEntry(key, value);
+			entries.add(entry);
+			return entry;
+		}
+
+		void erase(int index) {
+			SoftCache.Entry<Integer, String> entry = entries.get(index);
+			entry.clear();
+			entry.enqueue();
+		}
+
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() - deadline < 0, "timed out");
+			Thread.sleep(1);
+		}
+	}
+
+	private static int reaperThreads() {
+		int count = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("ReferenceReaper") && thread.isAlive()) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	public void testCullsErasedMappings() throws InterruptedException {
+		try (ReferenceReaper reaper = new ReferenceReaper(2)) {
+			TestCache cache = new TestCache(reaper);
+			BlockingQueue<String> removals = new LinkedBlockingQueue<>();
+			cache.setRemovalListener((key, value, cause) -> removals.add(key + ":" + cause), Runnable::run);
+			for (int i = 0; i < 5; ++i) {
+				cache.put(i, "v" + i);
+			}
+			cache.erase(0);
+			cache.erase(2);
+			cache.erase(4);
+			// The reaper removes each mapping before notifying the listener, so wait for the notifications themselves.
+			await(() -> removals.size() == 3);
+			assertEquals(2, cache.size());
+			assertEquals("v1", cache.get(1));
+			assertEquals("v3", cache.get(3));
+			List<String> drained = new ArrayList<>();
+			removals.drainTo(drained);
+			drained.sort(null);
+			assertEquals(Arrays.asList("0:COLLECTED", "2:COLLECTED", "4:COLLECTED"), drained);
+		}
+	}
+
+	@Test
+	public void testSurvivesFailingCache() throws InterruptedException {
+		try (ReferenceReaper reaper = new ReferenceReaper(16)) {
+			AtomicBoolean failed = new AtomicBoolean();
+			TestCache failing = new TestCache(reaper) {
+
+				@Override
+				protected boolean expunge(SoftCache.Entry<Integer, String> entry, RemovalCause cause) {
+					if (failed.compareAndSet(false, true)) {
+						throw new AssertionError("expected failure");
+					}
+					return super.expunge(entry, cause);
+				}
+
+			};
+			TestCache healthy = new TestCache(reaper);
+			failing.put(1, "a");
+			failing.put(2, "b");
+			healthy.put(1, "a");
+			failing.erase(0);
+			await(failed::get);
+			healthy.erase(0);
+			await(healthy::isEmpty);
+			failing.erase(1);
+			await(() -> !failing.containsKey(2));
+		}
+	}
+
+	@Test
+	public void testClose() {
+		int threads = reaperThreads();
+		ReferenceReaper reaper = new ReferenceReaper(2);
+		assertEquals(threads + 1, reaperThreads());
+		TestCache cache = new TestCache(reaper);
+		for (int i = 0; i < 5; ++i) {
+			cache.put(i, "v" + i);
+		}
+		reaper.close();
+		assertEquals(threads, reaperThreads());
+		reaper.close();
+		assertThrows(IllegalStateException.class, () -> new TestCache(reaper));
+
+		// The cache culls its own erased mappings once its reaper is closed.
+		cache.erase(0);
+		cache.erase(1);
+		cache.erase(2);
+		assertEquals("v3", cache.get(3));
+		assertEquals(2, cache.size());
+		cache.put(5, "v5");
+		assertEquals(3, cache.size());
+	}
+
+	@Test
+	public void testSharedCannotBeClosed() {
+		assertThrows(UnsupportedOperationException.class, ReferenceReaper.shared()::close);
+	}
+
+	@Test
+	public void testRejectsNonConcurrentCache() {
+		assertThrows(IllegalArgumentException.class, () -> new AbstractReferenceCache<Integer, String, SoftCache.Entry<Integer, String>>(new HashMap<>(), ReferenceReaper.shared()) {
+
+			@Override
+			protected SoftCache.Entry<Integer, String> newEntry(Integer key, String value) {
+				throw new UnsupportedOperationException();
+			}
+
+		});
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mattwhitlock.common.caches.Codec;
+import com.mattwhitlock.common.caches.LongSoftCache;
+import com.mattwhitlock.common.caches.RemovalCause;
+import com.mattwhitlock.common.caches.SpillingNavigableLongSoftCache;
+
+/**
+ * @author Matt Whitlock
+ */
+public class SpillingNavigableLongSoftCacheTest {
+
+	private static final Codec<long[]> codec = new Codec<long[]>() {
+
+		@Override
+		public ByteBuffer encode(long[] value) {
+			ByteBuffer buffer = ByteBuffer.allocate(value.length * 8);
+			buffer.asLongBuffer().put(value);
+			return buffer;
+		}
+
+		@Override
+		public long[] decode(ByteBuffer buffer) {
+			long[] value = new long[buffer.remaining() / 8];
+			buffer.asLongBuffer().get(value);
+			return value;
+		}
+
+	};
+
+	/**
+	 * A {@link SpillingNavigableLongSoftCache} that remembers the entries it constructs, so that the test can erase
+	 * them as the garbage collector would.
+	 */
+	private static class TestCache extends SpillingNavigableLongSoftCache<long[]> {
+
+		final List<LongSoftCache.Entry<long[]>> entries = new ArrayList<>();
+
+		TestCache(Path path) throws IOException {
+			this(path, 1 << 16, Long.MAX_VALUE);
+		}
+
+		TestCache(Path path, int segmentSize, long maximumBytes) throws IOException {
+			super(path, codec, segmentSize, maximumBytes);
+		}
+
+		@Override
+		protected LongSoftCache.Entry<long[]> newEntry(long key, long[] value) {
+			LongSoftCache.Entry<long[]> entry = super.newEntry(key, value);
+			entries.add(entry);
+			return entry;
+		}
+
+	}
+
+	@Test
+	public void testSpill() throws IOException {
+		Path path = Files.createTempFile("spill", null);
+		try (SpillingNavigableLongSoftCache<long[]> cache = new SpillingNavigableLongSoftCache<>(path, codec, 1 << 16)) {
+			for (long i = 0; i < 100; ++i) {
+				long[] value = new long[1000];
+				value[0] = i;
+				cache.put(i * 10, value);
+			}
+			assertEquals(100, cache.size());
+			assertEquals(42L, cache.get(420L)[0]);
+			assertEquals(Long.valueOf(410L), cache.floorKey(419L));
+			assertEquals(10, cache.subMap(100L, true, 200L, false).size());
+			cache.clear();
+			assertNull(cache.get(420L));
+			cache.put(1L, new long[] { 7 });
+			assertEquals(7L, cache.get(1L)[0]);
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testPromotion() throws IOException {
+		Path path = Files.createTempFile("spill", null);
+		try (TestCache cache = new TestCache(path)) {
+			List<String> removals = new ArrayList<>();
+			cache.setRemovalListener((key, value, cause) -> removals.add(key + "=" + value[0] + ":" + cause), Runnable::run);
+			cache.recordStats();
+			long[] value = { 42 };
+			cache.put(1L, value);
+			cache.entries.get(0).clear();
+
+			long[] promoted = cache.get(1L);
+			assertEquals(42L, promoted[0]);
+			assertEquals(1, cache.stats().putCount());
+			assertEquals(1, cache.stats().hitCount());
+			assertEquals(0, cache.stats().removalCount(RemovalCause.REPLACED));
+			assertEquals(new ArrayList<>(), removals);
+
+			// The promoted value is held again, and is not decoded anew.
+			assertSame(promoted, cache.get(1L));
+			assertEquals(1, cache.size());
+			assertEquals(1, cache.stats().putCount());
+			assertEquals(new ArrayList<>(), removals);
+
+			// Replacing the promoted value reports the promoted value, once.
+			cache.put(1L, new long[] { 43 });
+			assertEquals(Arrays.asList("1=42:" + RemovalCause.REPLACED), removals);
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+
+	@Test
+	public void testMaximumBytes() throws IOException {
+		Path path = Files.createTempFile("spill", null);
+		// Each segment holds four records of 1000 bytes, and the file holds two segments.
+		try (TestCache cache = new TestCache(path, 4096, 8192)) {
+			for (long i = 0; i < 1000; ++i) {
+				cache.put(i % 3, new long[125]);
+				assertTrue(Files.size(path) <= 8192);
+			}
+			for (long i = 0; i < 3; ++i) {
+				long[] value = new long[125];
+				value[0] = i;
+				cache.put(i, value);
+			}
+			for (LongSoftCache.Entry<long[]> entry : cache.entries) {
+				entry.clear();
+			}
+			// Compaction has kept the live records readable.
+			for (long i = 0; i < 3; ++i) {
+				assertEquals(i, cache.get(i)[0]);
+			}
+
+			// Once the live records fill the file, further values are held only softly.
+			cache.entries.clear();
+			for (long i = 3; i < 12; ++i) {
+				cache.put(i, new long[125]);
+			}
+			for (LongSoftCache.Entry<long[]> entry : cache.entries) {
+				entry.clear();
+			}
+			int spilled = 0;
+			for (long i = 3; i < 12; ++i) {
+				if (cache.get(i) != null) {
+					++spilled;
+				}
+			}
+			assertEquals(5, spilled);
+			assertTrue(Files.size(path) <= 8192);
+		}
+		finally {
+			Files.delete(path);
+		}
+	}
+
+}
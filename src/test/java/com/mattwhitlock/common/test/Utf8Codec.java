@@ -0,0 +1,33 @@
+/*
+ * Created on Oct 16, 2026
+ */
+package com.mattwhitlock.common.test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.mattwhitlock.common.caches.Codec;
+
+/**
+ * A {@link Codec} that encodes strings in UTF-8, for the tests of caches and snapshots that store encoded values.
+ * 
+ * @author Matt Whitlock
+ */
+final class Utf8Codec implements Codec<String> {
+
+	static final Utf8Codec instance = new Utf8Codec();
+
+	private Utf8Codec() {
+	}
+
+	@Override
+	public ByteBuffer encode(String value) {
+		return StandardCharsets.UTF_8.encode(value);
+	}
+
+	@Override
+	public String decode(ByteBuffer buffer) {
+		return StandardCharsets.UTF_8.decode(buffer).toString();
+	}
+
+}